@@ -25,7 +25,10 @@ import net.openhft.chronicle.core.threads.EventHandler;
 import net.openhft.chronicle.core.threads.EventLoop;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -46,6 +49,10 @@ public abstract class AbstractLifecycleEventLoop extends AbstractCloseable imple
      */
     private static final long AWAIT_TERMINATION_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
     private final AtomicReference<EventLoopLifecycle> lifecycle = new AtomicReference<>(EventLoopLifecycle.NEW);
+    // completed when the lifecycle reaches STOPPED
+    private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+    // completed by the loop's own thread once it has finished, or when STOPPED for a loop which doesn't signal this
+    private final CompletableFuture<Void> terminated = new CompletableFuture<>();
     protected final String name;
 
     protected AbstractLifecycleEventLoop(@NotNull String name) {
@@ -82,15 +89,51 @@ public abstract class AbstractLifecycleEventLoop extends AbstractCloseable imple
     public final void stop() {
         if (lifecycle.compareAndSet(EventLoopLifecycle.NEW, EventLoopLifecycle.STOPPING)) {
             performStopFromNew();
-            lifecycle.set(EventLoopLifecycle.STOPPED);
+            stopped();
         } else if (lifecycle.compareAndSet(EventLoopLifecycle.STARTED, EventLoopLifecycle.STOPPING)) {
             performStopFromStarted();
-            lifecycle.set(EventLoopLifecycle.STOPPED);
+            stopped();
         } else {
             awaitTermination();
         }
     }
 
+    private void stopped() {
+        lifecycle.set(EventLoopLifecycle.STOPPED);
+        terminated.complete(null);
+        stopped.complete(null);
+    }
+
+    /**
+     * A future completed when this event loop has finished running its handlers, so many event loops can be waited
+     * for together. Completing the future returned has no effect on the event loop.
+     * <p>
+     * An event loop with its own thread completes this from that thread once every handler has had
+     * {@link EventHandler#loopFinished()} called, otherwise it is completed when the event loop has stopped.
+     *
+     * @return a future completed when the event loop has finished
+     */
+    public CompletableFuture<Void> terminationFuture() {
+        return terminated.thenApply(v -> v);
+    }
+
+    /**
+     * Called by the event loop's thread once every handler has had {@link EventHandler#loopFinished()} called.
+     */
+    protected final void loopTerminated() {
+        terminated.complete(null);
+    }
+
+    /**
+     * Asks the event loop to stop without waiting for it to do so. {@link #stop()} must still be called, and returns
+     * promptly once the {@link #terminationFuture()} has completed.
+     *
+     * @return true if the {@link #terminationFuture()} will complete without calling {@link #stop()}
+     */
+    protected boolean requestStop() {
+        return false;
+    }
+
     /**
      * Implement a stop from {@link EventLoopLifecycle#NEW} state, should block until all
      * handlers have had {@link EventHandler#loopFinished()} called.
@@ -105,17 +148,15 @@ public abstract class AbstractLifecycleEventLoop extends AbstractCloseable imple
     protected abstract void performStopFromStarted();
 
     protected final void awaitTermination() {
-        long endTime = System.currentTimeMillis() + AWAIT_TERMINATION_TIMEOUT_MS;
-        while (!Thread.currentThread().isInterrupted()) {
-            if (lifecycle.get() == EventLoopLifecycle.STOPPED)
-                return;
-            if (System.currentTimeMillis() > endTime) {
-                Jvm.error().on(getClass(), "awaitTermination() timed out, continuing. This probably represents a bug.");
-            }
-            Jvm.pause(1);
-        }
-        if (lifecycle.get() != EventLoopLifecycle.STOPPED) {
+        try {
+            stopped.get(AWAIT_TERMINATION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Jvm.error().on(getClass(), "awaitTermination() timed out, continuing. This probably represents a bug.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             Jvm.warn().on(getClass(), "awaitTermination() interrupted, returning in state " + lifecycle.get());
+        } catch (ExecutionException e) {
+            throw new AssertionError(e);
         }
     }
 
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.time.SystemTimeProvider;
+import net.openhft.chronicle.core.time.TimeProvider;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link Pauser} which switches between busy, balanced and sleepy pausing depending on how busy its event loop has
+ * been recently, and optionally the time of day.
+ * <p>
+ * Each window of {@code pauser.adaptive.window.ms} (default 1 s) the calls to {@link #reset()}, i.e. iterations in
+ * which the loop did some work, are counted. The pauser is
+ * <ul>
+ *     <li>busy if there were at least {@code pauser.adaptive.busy.rate} (default 1000) per second</li>
+ *     <li>sleepy if there were none for {@code pauser.adaptive.sleepy.secs} (default 30 s)</li>
+ *     <li>balanced otherwise</li>
+ * </ul>
+ * unless a rule added with {@link #during(LocalTime, LocalTime, Mode)} applies to the time of day.
+ * <p>
+ * The pausers for each mode are created up front and the switch is made in {@link #pause()} on the loop thread, so
+ * nothing is allocated by a switch apart from the message logging it. Switches are counted by {@link #switchCount(Mode)}.
+ */
+public class AdaptivePauser implements TimingPauser {
+    static final long BUSY_RATE = Jvm.getLong("pauser.adaptive.busy.rate", 1_000L);
+    static final long SLEEPY_SECS = Jvm.getLong("pauser.adaptive.sleepy.secs", 30L);
+    static final long WINDOW_MS = Jvm.getLong("pauser.adaptive.window.ms", 1_000L);
+
+    /**
+     * The pausing strategies switched between
+     */
+    public enum Mode {
+        BUSY, BALANCED, SLEEPY
+    }
+
+    private final Pauser[] pausers = {Pauser.timedBusy(), Pauser.balanced(), Pauser.sleepy()};
+    private final long[] switchCounts = new long[pausers.length];
+    private final List<TimeRule> rules = new ArrayList<>();
+    private final TimeProvider timeProvider;
+    private long busyRate = BUSY_RATE;
+    private long sleepyAfterNS = TimeUnit.SECONDS.toNanos(SLEEPY_SECS);
+    private long windowNS = TimeUnit.MILLISECONDS.toNanos(WINDOW_MS);
+    private ZoneId zone = ZoneId.systemDefault();
+
+    private volatile Mode mode = Mode.BALANCED;
+    private long resets = 0;
+    private long windowStartNS = Long.MIN_VALUE;
+    private long lastBusyNS;
+
+    public AdaptivePauser() {
+        this(SystemTimeProvider.CLOCK);
+    }
+
+    /**
+     * @param timeProvider used for the windows and the time of day
+     */
+    public AdaptivePauser(@NotNull TimeProvider timeProvider) {
+        this.timeProvider = timeProvider;
+    }
+
+    /**
+     * @param perSecond the number of busy iterations per second above which to busy wait
+     * @return this
+     */
+    public AdaptivePauser busyRate(long perSecond) {
+        this.busyRate = perSecond;
+        return this;
+    }
+
+    /**
+     * @param time     how long without any busy iteration before switching to sleepy
+     * @param timeUnit of time
+     * @return this
+     */
+    public AdaptivePauser sleepyAfter(long time, @NotNull TimeUnit timeUnit) {
+        this.sleepyAfterNS = timeUnit.toNanos(time);
+        return this;
+    }
+
+    /**
+     * @param time     how often to review the mode
+     * @param timeUnit of time
+     * @return this
+     */
+    public AdaptivePauser window(long time, @NotNull TimeUnit timeUnit) {
+        this.windowNS = Math.max(1, timeUnit.toNanos(time));
+        return this;
+    }
+
+    /**
+     * @param zone the time zone the rules are in, the system default if not set
+     * @return this
+     */
+    public AdaptivePauser zone(@NotNull ZoneId zone) {
+        this.zone = zone;
+        return this;
+    }
+
+    /**
+     * Uses {@code mode} regardless of load between {@code from} inclusive and {@code to} exclusive each day,
+     * e.g. sleepy overnight. If {@code to} is before {@code from} the period spans midnight. The first matching rule applies.
+     *
+     * @return this
+     */
+    public AdaptivePauser during(@NotNull LocalTime from, @NotNull LocalTime to, @NotNull Mode mode) {
+        rules.add(new TimeRule(from.toSecondOfDay(), to.toSecondOfDay(), mode));
+        return this;
+    }
+
+    /**
+     * @return the current mode
+     */
+    @NotNull
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * @return the number of times this pauser has switched to {@code mode}
+     */
+    public long switchCount(@NotNull Mode mode) {
+        return switchCounts[mode.ordinal()];
+    }
+
+    @Override
+    public void reset() {
+        resets++;
+        pausers[mode.ordinal()].reset();
+    }
+
+    @Override
+    public void pause() {
+        checkMode();
+        pausers[mode.ordinal()].pause();
+    }
+
+    @Override
+    public void pause(long timeout, TimeUnit timeUnit) throws TimeoutException {
+        checkMode();
+        pausers[mode.ordinal()].pause(timeout, timeUnit);
+    }
+
+    /**
+     * Only reviewed when pausing, as the mode makes no difference while the loop is busy
+     */
+    private void checkMode() {
+        final long now = timeProvider.currentTimeNanos();
+        if (windowStartNS == Long.MIN_VALUE) {
+            windowStartNS = lastBusyNS = now;
+            return;
+        }
+        final long elapsed = now - windowStartNS;
+        if (elapsed < windowNS)
+            return;
+        final long perSecond = resets * 1_000_000_000L / elapsed;
+        if (resets > 0)
+            lastBusyNS = now;
+        resets = 0;
+        windowStartNS = now;
+
+        Mode next = ruleFor(timeProvider.currentTimeMillis());
+        if (next == null)
+            next = perSecond >= busyRate ? Mode.BUSY
+                    : now - lastBusyNS >= sleepyAfterNS ? Mode.SLEEPY
+                    : Mode.BALANCED;
+        final Mode previous = mode;
+        if (next == previous)
+            return;
+        pausers[next.ordinal()].reset();
+        mode = next;
+        switchCounts[next.ordinal()]++;
+        if (Jvm.isPerfEnabled(AdaptivePauser.class))
+            Jvm.perf().on(AdaptivePauser.class, "Switching from " + previous + " to " + next + " at " + perSecond + " busy iterations/s");
+    }
+
+    private Mode ruleFor(long epochMillis) {
+        if (rules.isEmpty())
+            return null;
+        final Instant instant = Instant.ofEpochMilli(epochMillis);
+        final long secondOfDay = Math.floorMod(epochMillis / 1000 + zone.getRules().getOffset(instant).getTotalSeconds(), 86_400L);
+        for (TimeRule rule : rules) {
+            if (rule.matches(secondOfDay))
+                return rule.mode;
+        }
+        return null;
+    }
+
+    @Override
+    public void unpause() {
+        pausers[mode.ordinal()].unpause();
+    }
+
+    @Override
+    public long timePaused() {
+        long total = 0;
+        for (Pauser pauser : pausers)
+            total += pauser.timePaused();
+        return total;
+    }
+
+    @Override
+    public long countPaused() {
+        long total = 0;
+        for (Pauser pauser : pausers)
+            total += pauser.countPaused();
+        return total;
+    }
+
+    /**
+     * Reports the statistics of the current mode's pauser
+     */
+    @Override
+    public PauserStatistics phaseStatistics(@NotNull PauserStatistics stats) {
+        return pausers[mode.ordinal()].phaseStatistics(stats);
+    }
+
+    @Override
+    public boolean isBusy() {
+        return mode == Mode.BUSY && pausers[Mode.BUSY.ordinal()].isBusy();
+    }
+
+    @Override
+    public String toString() {
+        return "PauserMode.adaptive";
+    }
+
+    static final class TimeRule {
+        final long from;
+        final long to;
+        final Mode mode;
+
+        TimeRule(long from, long to, Mode mode) {
+            this.from = from;
+            this.to = to;
+            this.mode = mode;
+        }
+
+        boolean matches(long secondOfDay) {
+            return from <= to
+                    ? secondOfDay >= from && secondOfDay < to
+                    : secondOfDay >= from || secondOfDay < to;
+        }
+    }
+}
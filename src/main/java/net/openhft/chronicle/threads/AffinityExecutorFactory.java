@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.affinity.AffinityLock;
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * An {@link ExecutorFactory} whose executors have a thread per core, pinned via {@link AffinityLock}.
+ * <p>
+ * Executor services are {@link AffinityExecutorService}s with a lock-free queue per worker. Scheduled executors have
+ * a single pinned thread. Select it with {@code -Dthreads.executor.factory=net.openhft.chronicle.threads.AffinityExecutorFactory},
+ * in which case {@code threads.affinity.binding} (default "any") sets how threads are pinned and idle workers use
+ * {@link Pauser#balanced()}.
+ */
+public class AffinityExecutorFactory implements ExecutorFactory {
+    private final String binding;
+    private final Supplier<Pauser> pauserSupplier;
+
+    public AffinityExecutorFactory() {
+        this(Jvm.getProperty("threads.affinity.binding", "any"), Pauser::balanced);
+    }
+
+    /**
+     * @param binding        how to pin each thread, as for {@link AffinityLock#acquireLock(String)}
+     * @param pauserSupplier the pauser for each worker to use when idle
+     */
+    public AffinityExecutorFactory(@NotNull String binding, @NotNull Supplier<Pauser> pauserSupplier) {
+        this.binding = binding;
+        this.pauserSupplier = pauserSupplier;
+    }
+
+    @Override
+    public ExecutorService acquireExecutorService(String name, int threads, boolean daemon) {
+        return new AffinityExecutorService(name, threads, daemon, binding, pauserSupplier);
+    }
+
+    @Override
+    public ScheduledExecutorService acquireScheduledExecutorService(String name, boolean daemon) {
+        return new AffinityThreadFactory(name, daemon, binding).newSingleThreadScheduledExecutor();
+    }
+
+    static final class AffinityThreadFactory extends NamedThreadFactory {
+        private final String binding;
+
+        AffinityThreadFactory(String name, Boolean daemon, String binding) {
+            super(name, daemon);
+            this.binding = binding;
+        }
+
+        @Override
+        @NotNull
+        @SuppressWarnings("try")
+        public Thread newThread(@NotNull Runnable r) {
+            return super.newThread(() -> {
+                try (AffinityLock lock = AffinityLock.acquireLock(binding)) {
+                    r.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.affinity.AffinityLock;
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An {@link java.util.concurrent.ExecutorService} with a fixed number of worker threads, each pinned to a core via
+ * {@link AffinityLock} and with its own lock-free task queue. Idle workers wait using a {@link Pauser}.
+ * <p>
+ * Tasks are handed to the workers in turn. If a worker's queue is full, the submitting thread yields until there is room.
+ */
+public class AffinityExecutorService extends AbstractExecutorService {
+    static final int QUEUE_CAPACITY = Jvm.getInteger("threads.affinity.queue.capacity", 4096);
+
+    private final String name;
+    private final Worker[] workers;
+    private final NamedThreadFactory threadFactory;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final CountDownLatch terminated;
+    private volatile boolean shutdown = false;
+    private volatile boolean shutdownNow = false;
+
+    /**
+     * @param name           of the threads
+     * @param threads        the number of workers, each pinned to a core
+     * @param daemon         whether the threads are daemon threads
+     * @param binding        how to pin each worker, as for {@link AffinityLock#acquireLock(String)} e.g. "any"
+     * @param pauserSupplier the pauser for each worker to use when idle
+     */
+    public AffinityExecutorService(@NotNull String name, int threads, boolean daemon, @NotNull String binding, @NotNull Supplier<Pauser> pauserSupplier) {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be positive, was " + threads);
+        this.name = name;
+        this.threadFactory = new NamedThreadFactory(name, daemon);
+        this.workers = new Worker[threads];
+        this.terminated = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++)
+            workers[i] = new Worker(binding, pauserSupplier.get());
+        for (Worker worker : workers)
+            threadFactory.newThread(worker).start();
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        // counted before checking for shutdown, so the workers don't exit while a task is being added
+        submitting.incrementAndGet();
+        try {
+            final int start = next.getAndIncrement() & Integer.MAX_VALUE;
+            for (int attempt = 0; ; attempt++) {
+                if (shutdown)
+                    throw new RejectedExecutionException(name + " has been shut down");
+                final Worker worker = workers[(start + attempt) % workers.length];
+                if (worker.queue.offer(command)) {
+                    worker.pauser.unpause();
+                    return;
+                }
+                if (attempt >= workers.length)
+                    Thread.yield();
+            }
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers)
+            worker.pauser.unpause();
+    }
+
+    @NotNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        shutdownNow = true;
+        final List<Runnable> notRun = new ArrayList<>();
+        threadFactory.forEachThread(Thread::interrupt);
+        for (Worker worker : workers) {
+            worker.pauser.unpause();
+        }
+        // the workers drain their own queues, as only they may poll them
+        awaitTerminationQuietly();
+        for (Worker worker : workers)
+            notRun.addAll(worker.notRun);
+        return notRun;
+    }
+
+    private void awaitTerminationQuietly() {
+        try {
+            terminated.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Calls {@code consumer} for each worker thread still running
+     *
+     * @param consumer to call
+     */
+    public void forEachThread(@NotNull Consumer<Thread> consumer) {
+        threadFactory.forEachThread(consumer);
+    }
+
+    @Override
+    public String toString() {
+        return "AffinityExecutorService{" +
+                "name='" + name + '\'' +
+                ", threads=" + workers.length +
+                ", shutdown=" + shutdown +
+                '}';
+    }
+
+    private final class Worker implements Runnable {
+        final MpscArrayQueue<Runnable> queue = new MpscArrayQueue<>(QUEUE_CAPACITY);
+        final List<Runnable> notRun = new ArrayList<>();
+        final String binding;
+        final Pauser pauser;
+
+        Worker(String binding, Pauser pauser) {
+            this.binding = binding;
+            this.pauser = pauser;
+        }
+
+        @Override
+        @SuppressWarnings("try")
+        public void run() {
+            try (AffinityLock lock = AffinityLock.acquireLock(binding)) {
+                runTasks();
+            } finally {
+                terminated.countDown();
+            }
+        }
+
+        private void runTasks() {
+            while (!shutdownNow) {
+                final Runnable task = queue.poll();
+                if (task != null) {
+                    pauser.reset();
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        Jvm.warn().on(AffinityExecutorService.class, name + " task threw", t);
+                    }
+                    continue;
+                }
+                if (shutdown && submitting.get() == 0 && queue.isEmpty())
+                    return;
+                pauser.pause();
+            }
+            for (Runnable task; (task = queue.poll()) != null || !queue.isEmpty() || submitting.get() > 0; )
+                if (task != null)
+                    notRun.add(task);
+        }
+    }
+}
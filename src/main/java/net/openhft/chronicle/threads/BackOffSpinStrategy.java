@@ -0,0 +1,77 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link SpinStrategy} which doubles the number of spin hints per spin after every {@code emptySpins} spins
+ * without a {@link #reset()}, up to {@code maxPausesPerSpin}.
+ * <p>
+ * This is stateful so each pauser needs its own instance.
+ */
+public class BackOffSpinStrategy implements SpinStrategy {
+    private final SpinStrategy spinStrategy;
+    private final int emptySpins;
+    private final int maxPausesPerSpin;
+    private int spins = 0;
+    private int pausesPerSpin = 1;
+
+    /**
+     * @param spinStrategy     used for each spin hint
+     * @param emptySpins       the number of spins after which the number of spin hints per spin doubles
+     * @param maxPausesPerSpin the maximum number of spin hints per spin
+     */
+    public BackOffSpinStrategy(@NotNull SpinStrategy spinStrategy, int emptySpins, int maxPausesPerSpin) {
+        if (emptySpins < 1)
+            throw new IllegalArgumentException("emptySpins must be positive, was " + emptySpins);
+        if (maxPausesPerSpin < 1)
+            throw new IllegalArgumentException("maxPausesPerSpin must be positive, was " + maxPausesPerSpin);
+        this.spinStrategy = spinStrategy;
+        this.emptySpins = emptySpins;
+        this.maxPausesPerSpin = maxPausesPerSpin;
+    }
+
+    @Override
+    public void spin() {
+        if (++spins >= emptySpins) {
+            spins = 0;
+            pausesPerSpin = (int) Math.min(maxPausesPerSpin, pausesPerSpin * 2L);
+        }
+        for (int i = 0; i < pausesPerSpin; i++)
+            spinStrategy.spin();
+    }
+
+    @Override
+    public void reset() {
+        spins = 0;
+        pausesPerSpin = 1;
+    }
+
+    /**
+     * @return the number of spin hints the next spin will issue
+     */
+    public int pausesPerSpin() {
+        return pausesPerSpin;
+    }
+
+    @Override
+    public String toString() {
+        return "SpinStrategy.backOff(" + emptySpins + ", " + maxPausesPerSpin + ")";
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Logs the items per second processed by each {@link BatchedEventHandler} of an event loop, run on the monitor thread.
+ * <p>
+ * Added to the loops of an {@link EventGroup} when {@code eventloop.batch.report.secs} is set.
+ */
+final class BatchRateMonitor implements EventHandler {
+    static final long REPORT_INTERVAL_SECS = Jvm.getLong("eventloop.batch.report.secs", 0L);
+
+    private final MediumEventLoop eventLoop;
+    private final long reportIntervalNS;
+    private final StringBuilder sb = new StringBuilder();
+    private long nextReportNS = 0;
+
+    BatchRateMonitor(@NotNull MediumEventLoop eventLoop, long reportIntervalNS) {
+        this.eventLoop = eventLoop;
+        this.reportIntervalNS = reportIntervalNS;
+    }
+
+    static boolean isEnabled() {
+        return REPORT_INTERVAL_SECS > 0;
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        if (eventLoop.isClosing())
+            throw InvalidEventHandlerException.reusable();
+        final long now = System.nanoTime();
+        if (now - nextReportNS < 0)
+            return false;
+        nextReportNS = now + reportIntervalNS;
+        sb.setLength(0);
+        final boolean log = Jvm.isPerfEnabled(getClass());
+        report(eventLoop.highHandler, now, log);
+        // a racy read of the loop's handlers, fine for reporting
+        for (EventHandler handler : eventLoop.mediumHandlersArray)
+            report(handler, now, log);
+        if (sb.length() > 0)
+            Jvm.perf().on(getClass(), eventLoop.name() + " items/s" + sb);
+        return true;
+    }
+
+    private void report(EventHandler handler, long now, boolean log) {
+        if (!(handler instanceof BatchedHandlerAdapter))
+            return;
+        final BatchedHandlerAdapter adapter = (BatchedHandlerAdapter) handler;
+        final long items = adapter.itemsProcessed;
+        if (log && adapter.lastReportNS != 0) {
+            final long perSecond = (items - adapter.lastItemsProcessed) * 1_000_000_000L / Math.max(1, now - adapter.lastReportNS);
+            sb.append(", ").append(adapter).append('=').append(perSecond);
+        }
+        adapter.lastItemsProcessed = items;
+        adapter.lastReportNS = now;
+    }
+
+    @NotNull
+    @Override
+    public HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchRateMonitor<" + eventLoop.name() + '>';
+    }
+}
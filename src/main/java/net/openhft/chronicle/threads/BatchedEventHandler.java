@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+
+/**
+ * An {@link EventHandler} which processes work in batches, and reports how much it did.
+ * <p>
+ * A {@link MediumEventLoop} shares a budget of {@code eventloop.batch.budget} items per iteration between its batched
+ * handlers, each being offered what is left but at least {@code eventloop.batch.min} items. This lets high volume
+ * handlers amortise the cost of each call while keeping the time for an iteration of the loop bounded.
+ */
+public interface BatchedEventHandler extends EventHandler {
+    /**
+     * The batch size used when called via {@link #action()}
+     */
+    int DEFAULT_MAX_ITEMS = 256;
+
+    /**
+     * Processes up to {@code maxItems} items of work.
+     *
+     * @param maxItems the most items to process, at least one
+     * @return the number of items processed, 0 if there was nothing to do
+     * @throws InvalidEventHandlerException to remove this handler
+     */
+    int action(int maxItems) throws InvalidEventHandlerException;
+
+    @Override
+    default boolean action() throws InvalidEventHandlerException {
+        return action(DEFAULT_MAX_ITEMS) > 0;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.Closeable;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.EventLoop;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Calls a {@link BatchedEventHandler} with what is left of its event loop's batch budget for this iteration.
+ */
+final class BatchedHandlerAdapter implements EventHandler, java.io.Closeable {
+    static final int BATCH_BUDGET = Jvm.getInteger("eventloop.batch.budget", 4096);
+    static final int MIN_BATCH = Math.max(1, Jvm.getInteger("eventloop.batch.min", 16));
+
+    final BatchedEventHandler handler;
+    private final Budget budget;
+    // written by the loop thread only, read by a monitor
+    long itemsProcessed = 0;
+    // used by a monitor only
+    long lastItemsProcessed = 0;
+    long lastReportNS = 0;
+
+    private BatchedHandlerAdapter(BatchedEventHandler handler, Budget budget) {
+        this.handler = handler;
+        this.budget = budget;
+    }
+
+    /**
+     * @return {@code handler} wrapped to use {@code budget} if it is batched, otherwise {@code handler}
+     */
+    static EventHandler wrap(EventHandler handler, Budget budget) {
+        if (handler instanceof BatchedHandlerAdapter)
+            handler = ((BatchedHandlerAdapter) handler).handler;
+        return handler instanceof BatchedEventHandler
+                ? new BatchedHandlerAdapter((BatchedEventHandler) handler, budget)
+                : handler;
+    }
+
+    /**
+     * @return the handler added to the loop, unwrapped if batched
+     */
+    static EventHandler unwrap(EventHandler handler) {
+        return handler instanceof BatchedHandlerAdapter
+                ? ((BatchedHandlerAdapter) handler).handler
+                : handler;
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        final int items = handler.action(Math.max(MIN_BATCH, budget.remaining));
+        if (items <= 0)
+            return false;
+        budget.remaining -= items;
+        itemsProcessed += items;
+        return true;
+    }
+
+    @Override
+    public void eventLoop(EventLoop eventLoop) {
+        handler.eventLoop(eventLoop);
+    }
+
+    @Override
+    public void loopStarted() {
+        handler.loopStarted();
+    }
+
+    @Override
+    public void loopFinished() {
+        handler.loopFinished();
+    }
+
+    @NotNull
+    @Override
+    public HandlerPriority priority() {
+        return handler.priority();
+    }
+
+    @Override
+    public void close() {
+        Closeable.closeQuietly(handler);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BatchedHandlerAdapter && ((BatchedHandlerAdapter) o).handler.equals(handler);
+    }
+
+    @Override
+    public int hashCode() {
+        return handler.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return handler.toString();
+    }
+
+    /**
+     * The items left for the batched handlers of an event loop in its current iteration, used by the loop thread only
+     */
+    static final class Budget {
+        int remaining = BATCH_BUDGET;
+
+        void reset() {
+            remaining = BATCH_BUDGET;
+        }
+    }
+}
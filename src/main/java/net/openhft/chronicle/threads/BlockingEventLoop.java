@@ -26,7 +26,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Supplier;
 
@@ -53,7 +52,7 @@ public class BlockingEventLoop extends AbstractLifecycleEventLoop implements Eve
         super(name);
         this.parent = parent;
         this.threadFactory = new NamedThreadFactory(name, null, null, true);
-        this.service = Executors.newCachedThreadPool(threadFactory);
+        this.service = threadFactory.newCachedThreadPool();
         this.pauserSupplier = pauser;
     }
 
@@ -61,7 +60,7 @@ public class BlockingEventLoop extends AbstractLifecycleEventLoop implements Eve
         super(name);
         this.parent = this;
         this.threadFactory = new NamedThreadFactory(name, null, null, true);
-        this.service = Executors.newCachedThreadPool(threadFactory);
+        this.service = threadFactory.newCachedThreadPool();
         this.pauserSupplier = Pauser::balanced;
     }
 
@@ -79,17 +78,17 @@ public class BlockingEventLoop extends AbstractLifecycleEventLoop implements Eve
         eventLoopQuietly(parent, handler);
         this.handlers.add(handler);
         if (isStarted())
-            this.startHandler(handler);
+            this.startHandler(handler, false);
     }
 
     @Override
     protected synchronized void performStart() {
-        handlers.forEach(this::startHandler);
+        handlers.forEach(handler -> startHandler(handler, true));
     }
 
-    private void startHandler(final EventHandler handler) {
+    private void startHandler(final EventHandler handler, final boolean restore) {
         try {
-            final Runner runner = new Runner(handler, pauserSupplier.get());
+            final Runner runner = new Runner(handler, pauserSupplier.get(), restore);
             runners.add(runner);
             service.submit(runner);
 
@@ -157,12 +156,15 @@ public class BlockingEventLoop extends AbstractLifecycleEventLoop implements Eve
     private final class Runner implements Runnable {
         private final EventHandler handler;
         private final Pauser pauser;
+        // only restore a snapshot when the loop starts, not for handlers added while it is running
+        private final boolean restore;
         private boolean endedGracefully = false;
         private transient volatile Thread thread = null;
 
-        public Runner(final EventHandler handler, Pauser pauser) {
+        public Runner(final EventHandler handler, Pauser pauser, boolean restore) {
             this.handler = handler;
             this.pauser = pauser;
+            this.restore = restore;
         }
 
         @Override
@@ -170,6 +172,8 @@ public class BlockingEventLoop extends AbstractLifecycleEventLoop implements Eve
             try {
                 throwExceptionIfClosed();
                 thread = Thread.currentThread();
+                if (restore)
+                    HandlerSnapshots.restore(handler);
                 handler.loopStarted();
 
                 while (isStarted()) {
@@ -188,7 +192,10 @@ public class BlockingEventLoop extends AbstractLifecycleEventLoop implements Eve
             } finally {
                 if (Jvm.isDebugEnabled(handler.getClass()))
                     Jvm.debug().on(handler.getClass(), "handler " + asString(handler) + " done.");
-                loopFinishedQuietly(handler);
+                if (endedGracefully)
+                    snapshotAndLoopFinishedQuietly(handler);
+                else
+                    loopFinishedQuietly(handler);
                 if (!endedGracefully) {
                     // remove handler for clarity when debugging
                     handlers.remove(handler);
@@ -17,7 +17,7 @@
  */
 package net.openhft.chronicle.threads;
 
-import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -29,6 +29,20 @@ public class BusyTimedPauser implements Pauser, TimingPauser {
 
     private long time = Long.MAX_VALUE;
     private long countPaused = 0;
+    private long spinStart = 0;
+    private final PauserStatistics statistics = new PauserStatistics();
+    private final SpinStrategy spinStrategy;
+
+    public BusyTimedPauser() {
+        this(SpinStrategy.onSpinWait());
+    }
+
+    /**
+     * @param spinStrategy how to spin while busy waiting, not shared with other pausers if it is stateful
+     */
+    public BusyTimedPauser(@NotNull SpinStrategy spinStrategy) {
+        this.spinStrategy = spinStrategy;
+    }
 
     /**
      * Always returns {@code true}, indicating that this pauser predominantly keeps the thread busy.
@@ -43,13 +57,21 @@ public class BusyTimedPauser implements Pauser, TimingPauser {
     @Override
     public void reset() {
         time = Long.MAX_VALUE;
+        spinStrategy.reset();
+        if (spinStart > 0) {
+            statistics.spinNS += System.nanoTime() - spinStart;
+            spinStart = 0;
+        }
     }
 
     @Override
     public void pause() {
         countPaused++;
+        if (spinStart == 0)
+            spinStart = System.nanoTime();
+        statistics.spinCount++;
         // busy wait.
-        Jvm.nanoPause();
+        spinStrategy.spin();
     }
 
     /**
@@ -97,6 +119,11 @@ public class BusyTimedPauser implements Pauser, TimingPauser {
         return countPaused;
     }
 
+    @Override
+    public PauserStatistics phaseStatistics(@NotNull PauserStatistics stats) {
+        return stats.copyFrom(statistics);
+    }
+
     /**
      * Provides a string representation for this pauser, identifying it as "PauserMode.timedBusy".
      *
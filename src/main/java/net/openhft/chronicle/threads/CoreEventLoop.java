@@ -17,8 +17,10 @@
  */
 package net.openhft.chronicle.threads;
 
+import net.openhft.chronicle.core.threads.EventHandler;
 import net.openhft.chronicle.core.threads.EventLoop;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.BooleanSupplier;
 
@@ -42,6 +44,18 @@ public interface CoreEventLoop extends EventLoop {
      */
     long loopStartNS();
 
+    /**
+     * The handler the event loop is currently running, as last published by the loop thread.
+     * <p>
+     * This is read without synchronization so is only suitable for sampling.
+     *
+     * @return the current handler, or null if idle or not known
+     */
+    @Nullable
+    default EventHandler currentHandler() {
+        return null;
+    }
+
     void dumpRunningState(@NotNull final String message, @NotNull final BooleanSupplier finalCheck);
 
     boolean isRunningOnThread(Thread thread);
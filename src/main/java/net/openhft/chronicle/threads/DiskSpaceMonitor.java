@@ -20,22 +20,35 @@ package net.openhft.chronicle.threads;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.time.SystemTimeProvider;
 import net.openhft.chronicle.core.time.TimeProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Background thread to monitor disk space free.
+ * <p>
+ * Each disk is checked on its own thread, so a slow or hung mount doesn't delay the checks of the others.
+ * A check taking longer than {@code chronicle.disk.monitor.check.timeout.ms} marks the disk as degraded until it
+ * completes, and the disk isn't checked again in the meantime.
  */
 public enum DiskSpaceMonitor implements Runnable, Closeable {
     INSTANCE;
@@ -44,10 +57,26 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
     static final boolean WARN_DELETED = Jvm.getBoolean("disk.monitor.deleted.warning");
     private static final boolean DISABLED = Jvm.getBoolean("chronicle.disk.monitor.disable");
     public static final int TIME_TAKEN_WARN_THRESHOLD_US = Jvm.getInteger("chronicle.disk.monitor.warn.threshold.us", 250);
+    // if less than 200 Megabytes
+    static final long PANIC_BYTES = 200 << 20;
+    static final String RESERVE_FILE_NAME = "disk-space.reserve";
+    static final long CHECK_TIMEOUT_NS = Jvm.getLong("chronicle.disk.monitor.check.timeout.ms", 1_000L) * 1_000_000;
+    static final long FORECAST_HORIZON_MS = Jvm.getLong("chronicle.disk.monitor.forecast.horizon.secs", 600L) * 1000;
+    // weight of the latest sample in the moving average of the rate of filling
+    static final double FILL_RATE_ALPHA = 0.3;
+    static final boolean MOUNT_TABLE = Jvm.getBoolean("chronicle.disk.monitor.mount.table") && MountTable.isAvailable();
+    // procfs doesn't update the modification time of mountinfo, so it is re-read periodically to see new mounts
+    static final long MOUNT_TABLE_REFRESH_MS = Jvm.getLong("chronicle.disk.monitor.mount.table.refresh.ms", 10_000L);
     private final NotifyDiskLow notifyDiskLow;
     final Map<String, FileStore> fileStoreCacheMap = new ConcurrentHashMap<>();
     final Map<FileStore, DiskAttributes> diskAttributesMap = new ConcurrentHashMap<>();
+    // used when MOUNT_TABLE is enabled
+    final Map<File, DiskAttributes> fileAttributesCacheMap = new ConcurrentHashMap<>();
+    final Map<String, DiskAttributes> deviceAttributesMap = new ConcurrentHashMap<>();
+    private MountTable mountTable;
+    private long mountTableReadMS;
     final ScheduledExecutorService executor;
+    final ExecutorService checkers;
     private int thresholdPercentage = Jvm.getInteger("chronicle.disk.monitor.threshold.percent", 5);
     private TimeProvider timeProvider = SystemTimeProvider.INSTANCE;
 
@@ -55,8 +84,10 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
         if (!Jvm.getBoolean("chronicle.disk.monitor.disable")) {
             executor = Threads.acquireScheduledExecutorService(DISK_SPACE_CHECKER_NAME, true);
             executor.scheduleAtFixedRate(this, 1, 1, TimeUnit.SECONDS);
+            checkers = new NamedThreadFactory(DISK_SPACE_CHECKER_NAME + "~io", true).newCachedThreadPool();
         } else {
             executor = null;
+            checkers = null;
         }
 
         final ServiceLoader<NotifyDiskLow> services = ServiceLoader.load(NotifyDiskLow.class);
@@ -73,11 +104,83 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
     public void clear() {
         fileStoreCacheMap.clear();
         diskAttributesMap.clear();
+        fileAttributesCacheMap.clear();
+        deviceAttributesMap.clear();
     }
 
+    /**
+     * Adds the disk {@code file} is on to those checked periodically.
+     * <p>
+     * With {@code chronicle.disk.monitor.mount.table} set on Linux, files are mapped to their device once via the
+     * mount table, so stores mounted more than once are only checked once, and polling a file already seen
+     * doesn't allocate.
+     *
+     * @param file to monitor the disk of
+     */
     public void pollDiskSpace(File file) {
         if (DISABLED)
             return;
+        attributesFor(file);
+    }
+
+    /**
+     * Reserves headroom on the disk {@code file} is on, which other reservations' {@link DiskSpaceReservation#canMap(long)}
+     * leave free. The disk is monitored as for {@link #pollDiskSpace(File)}.
+     *
+     * @param file  a file or directory on the disk
+     * @param bytes of headroom to reserve
+     * @return the reservation, to be closed when no longer needed
+     */
+    @NotNull
+    public DiskSpaceReservation reserve(@NotNull File file, long bytes) {
+        final DiskAttributes da = DISABLED ? null : attributesFor(file);
+        if (da == null)
+            return new DiskSpaceReservation(null, bytes);
+        // the file system can be slow to answer, so the reservation is pending until a checker has observed it
+        if (da.observedUnallocatedBytes < 0)
+            da.submitCheck();
+        return da.reserve(bytes);
+    }
+
+    /**
+     * Pre-allocates a file of {@code bytes} in {@code dir} which is deleted when its disk is almost full, before
+     * {@link NotifyDiskLow#panic(FileStore)} is called. This gives writers space to finish what they are doing and
+     * back off rather than crash accessing a memory-mapped file.
+     * <p>
+     * The file is written in full, as a sparse file wouldn't hold the space.
+     *
+     * @param dir   directory to create the reserve file in
+     * @param bytes to reserve
+     * @return the reserve file
+     * @throws IOException if the file couldn't be written
+     */
+    @NotNull
+    public File preallocateReserve(@NotNull File dir, long bytes) throws IOException {
+        final File file = new File(dir, RESERVE_FILE_NAME);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            final ByteBuffer zeros = ByteBuffer.allocateDirect(1 << 20);
+            long position = channel.size();
+            while (position < bytes) {
+                zeros.clear();
+                if (bytes - position < zeros.capacity())
+                    zeros.limit((int) (bytes - position));
+                position += channel.write(zeros, position);
+            }
+            channel.force(false);
+        }
+        final DiskAttributes da = DISABLED ? null : attributesFor(dir);
+        if (da != null && !da.reserveFiles.contains(file))
+            da.reserveFiles.add(file);
+        return file;
+    }
+
+    @Nullable
+    private DiskAttributes attributesFor(File file) {
+        if (MOUNT_TABLE) {
+            final DiskAttributes da = fileAttributesCacheMap.get(file);
+            return da == null ? pollDiskSpaceViaMountTable(file) : da;
+        }
         long start = timeProvider.currentTimeNanos();
 
         final String absolutePath = file.getAbsolutePath();
@@ -91,11 +194,11 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
                     fileStoreCacheMap.put(absolutePath, fs);
                 } catch (IOException e) {
                     Jvm.warn().on(getClass(), "Error trying to obtain the FileStore for " + path, e);
-                    return;
+                    return null;
                 }
             } else {
                 // nothing to monitor if it doesn't exist.
-                return;
+                return null;
             }
         }
         DiskAttributes da = diskAttributesMap.computeIfAbsent(fs, DiskAttributes::new);
@@ -103,20 +206,110 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
         final long tookUs = (timeProvider.currentTimeNanos() - start) / 1_000;
         if (tookUs > TIME_TAKEN_WARN_THRESHOLD_US)
             Jvm.perf().on(getClass(), "Took " + tookUs / 1000.0 + " ms to pollDiskSpace for " + file.getAbsolutePath());
+        return da;
+    }
+
+    @Nullable
+    private DiskAttributes pollDiskSpaceViaMountTable(File file) {
+        long start = timeProvider.currentTimeNanos();
+        // nothing to monitor if it doesn't exist.
+        if (!file.exists())
+            return null;
+        DiskAttributes da;
+        try {
+            final Path path = file.toPath().toRealPath();
+            final MountTable.Mount mount = mountFor(path.toString());
+            da = mount == null ? null : deviceAttributesMap.get(mount.device);
+            if (da == null) {
+                final FileStore fs = Files.getFileStore(path);
+                da = diskAttributesMap.computeIfAbsent(fs, DiskAttributes::new);
+                if (mount != null)
+                    deviceAttributesMap.putIfAbsent(mount.device, da);
+            }
+            fileAttributesCacheMap.put(file, da);
+        } catch (IOException e) {
+            Jvm.warn().on(getClass(), "Error trying to obtain the FileStore for " + file, e);
+            return null;
+        }
+
+        final long tookUs = (timeProvider.currentTimeNanos() - start) / 1_000;
+        if (tookUs > TIME_TAKEN_WARN_THRESHOLD_US)
+            Jvm.perf().on(getClass(), "Took " + tookUs / 1000.0 + " ms to pollDiskSpace for " + file.getAbsolutePath());
+        return da;
+    }
+
+    private synchronized MountTable.Mount mountFor(String realPath) throws IOException {
+        refreshMountTable(timeProvider.currentTimeMillis());
+        return mountTable.mountFor(realPath);
+    }
+
+    /**
+     * "/" matches every path, so a mount added since the table was read is only seen by reading it again.
+     */
+    private synchronized void refreshMountTable(long now) throws IOException {
+        if (mountTable != null && now - mountTableReadMS < MOUNT_TABLE_REFRESH_MS)
+            return;
+        final MountTable read = MountTable.read();
+        if (mountTable != null && !mountTable.equals(read))
+            // files seen before may now be on a different mount
+            fileAttributesCacheMap.clear();
+        mountTable = read;
+        mountTableReadMS = now;
     }
 
     @Override
     public void run() {
-        for (Iterator<DiskAttributes> iterator = diskAttributesMap.values().iterator(); iterator.hasNext(); ) {
-            DiskAttributes da = iterator.next();
+        final long now = timeProvider.currentTimeMillis();
+        if (MOUNT_TABLE && !fileAttributesCacheMap.isEmpty()) {
             try {
-                da.run();
+                refreshMountTable(now);
             } catch (IOException e) {
-                if (WARN_DELETED)
-                    Jvm.warn().on(getClass(), "Unable to get disk space for " + da.fileStore, e);
-                iterator.remove();
+                Jvm.debug().on(getClass(), "Unable to read " + MountTable.MOUNT_INFO, e);
             }
         }
+        for (DiskAttributes da : diskAttributesMap.values()) {
+            if (da.inFlight) {
+                da.checkDeadline();
+                continue;
+            }
+            if (da.timeNextCheckedMS > now)
+                continue;
+            da.submitCheck();
+        }
+    }
+
+    void remove(DiskAttributes da) {
+        diskAttributesMap.values().removeIf(v -> v == da);
+        fileAttributesCacheMap.values().removeIf(v -> v == da);
+        deviceAttributesMap.values().removeIf(v -> v == da);
+    }
+
+    /**
+     * @param fileStore being monitored
+     * @return whether its last check has taken longer than {@code chronicle.disk.monitor.check.timeout.ms}
+     * and hasn't completed yet
+     */
+    public boolean isDegraded(FileStore fileStore) {
+        final DiskAttributes da = diskAttributesMap.get(fileStore);
+        return da != null && da.degraded;
+    }
+
+    /**
+     * @param fileStore being monitored
+     * @return how long its last completed check took in nanoseconds, or -1 if it hasn't been checked
+     */
+    public long lastCheckLatencyNS(FileStore fileStore) {
+        final DiskAttributes da = diskAttributesMap.get(fileStore);
+        return da == null ? -1 : da.lastCheckLatencyNS;
+    }
+
+    /**
+     * @param fileStore being monitored
+     * @return how long its slowest check took in nanoseconds, or -1 if it hasn't been checked
+     */
+    public long maxCheckLatencyNS(FileStore fileStore) {
+        final DiskAttributes da = diskAttributesMap.get(fileStore);
+        return da == null ? -1 : da.maxCheckLatencyNS;
     }
 
     public int getThresholdPercentage() {
@@ -136,19 +329,104 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
     public void close() {
         if (executor != null)
             Threads.shutdown(executor);
+        if (checkers != null)
+            Threads.shutdown(checkers);
     }
 
     final class DiskAttributes {
 
-        private final FileStore fileStore;
+        final FileStore fileStore;
 
-        long timeNextCheckedMS;
+        volatile long timeNextCheckedMS;
         long totalSpace;
+        long lastCheckedMS;
+        long lastUnallocatedBytes = -1;
+        // bytes per milli, exponentially weighted moving average
+        double fillRate;
+        long millisToFull = Long.MAX_VALUE;
+        // a check is queued or running
+        volatile boolean inFlight;
+        volatile long checkStartedNS;
+        volatile boolean degraded;
+        volatile long lastCheckLatencyNS = -1;
+        volatile long maxCheckLatencyNS = -1;
+        volatile long observedUnallocatedBytes = -1;
+        // incremented each time observedUnallocatedBytes is updated
+        volatile int observations;
+        // recorded via DiskSpaceReservation.mapped() since observedUnallocatedBytes was read
+        final AtomicLong mappedBytes = new AtomicLong();
+        final AtomicLong reservedBytes = new AtomicLong();
+        final List<File> reserveFiles = new CopyOnWriteArrayList<>();
 
         DiskAttributes(FileStore fileStore) {
             this.fileStore = fileStore;
         }
 
+        void runChecked() {
+            final long start = System.nanoTime();
+            try {
+                run();
+            } catch (IOException e) {
+                if (WARN_DELETED)
+                    Jvm.warn().on(DiskSpaceMonitor.class, "Unable to get disk space for " + fileStore, e);
+                remove(this);
+            } catch (Throwable t) {
+                Jvm.warn().on(DiskSpaceMonitor.class, "Unable to check disk space for " + fileStore, t);
+            } finally {
+                final long latencyNS = System.nanoTime() - start;
+                lastCheckLatencyNS = latencyNS;
+                if (latencyNS > maxCheckLatencyNS)
+                    maxCheckLatencyNS = latencyNS;
+                if (degraded) {
+                    degraded = false;
+                    Jvm.perf().on(DiskSpaceMonitor.class, "Disk space check of " + fileStore + " completed after " + latencyNS / 1_000_000 + " ms");
+                }
+                inFlight = false;
+            }
+        }
+
+        /**
+         * Checks the disk on a checker thread, unless a check is already queued or running.
+         */
+        synchronized void submitCheck() {
+            if (inFlight)
+                return;
+            if (checkers == null) {
+                runChecked();
+                return;
+            }
+            inFlight = true;
+            checkStartedNS = System.nanoTime();
+            try {
+                checkers.execute(this::runChecked);
+            } catch (RejectedExecutionException e) {
+                // closing
+                inFlight = false;
+            }
+        }
+
+        DiskSpaceReservation reserve(long bytes) {
+            reservedBytes.addAndGet(bytes);
+            return new DiskSpaceReservation(this, bytes);
+        }
+
+        void releaseReserveFiles() {
+            for (File file : reserveFiles) {
+                reserveFiles.remove(file);
+                final long length = file.length();
+                if (file.delete())
+                    Jvm.warn().on(DiskSpaceMonitor.class, "Released " + (length >> 20) + " MB reserved in " + file + " as " + fileStore + " is almost full");
+            }
+        }
+
+        void checkDeadline() {
+            if (degraded || System.nanoTime() - checkStartedNS <= CHECK_TIMEOUT_NS)
+                return;
+            degraded = true;
+            Jvm.warn().on(DiskSpaceMonitor.class, "Disk space check of " + fileStore + " has taken more than "
+                    + CHECK_TIMEOUT_NS / 1_000_000 + " ms, marking it as degraded");
+        }
+
         void run() throws IOException {
             long now = timeProvider.currentTimeMillis();
             if (timeNextCheckedMS > now)
@@ -158,23 +436,52 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
             if (totalSpace <= 0)
                 totalSpace = fileStore.getTotalSpace();
 
+            // mappings recorded before this point are reflected in what the file system reports
+            final long mappedBefore = mappedBytes.get();
             long unallocatedBytes = fileStore.getUnallocatedSpace();
-            if (unallocatedBytes < (200 << 20)) {
-                // if less than 200 Megabytes
+            observedUnallocatedBytes = unallocatedBytes;
+            mappedBytes.addAndGet(-mappedBefore);
+            observations++;
+            updateForecast(now, unallocatedBytes);
+
+            if (unallocatedBytes < PANIC_BYTES) {
+                releaseReserveFiles();
                 notifyDiskLow.panic(fileStore);
 
             } else if (unallocatedBytes < totalSpace * DiskSpaceMonitor.INSTANCE.thresholdPercentage / 100) {
                 final double diskSpaceFull = ((long) (1000d * (totalSpace - unallocatedBytes) / totalSpace + 0.999)) / 10.0;
                 notifyDiskLow.warning(diskSpaceFull, fileStore);
 
+            } else if (millisToFull < FORECAST_HORIZON_MS) {
+                notifyDiskLow.forecast(millisToFull, fileStore);
+
             } else {
-                // wait 1 ms per MB or approx 1 sec per GB free.
-                timeNextCheckedMS = now + (unallocatedBytes >> 20);
+                timeNextCheckedMS = now + nextCheckDelayMS(unallocatedBytes);
             }
             long time = System.nanoTime() - start;
             if (time > 1_000_000)
                 Jvm.perf().on(getClass(), "Took " + time / 10_000 / 100.0 + " ms to check the disk space of " + fileStore);
         }
+
+        void updateForecast(long now, long unallocatedBytes) {
+            if (lastUnallocatedBytes >= 0 && now > lastCheckedMS) {
+                final double rate = (double) (lastUnallocatedBytes - unallocatedBytes) / (now - lastCheckedMS);
+                fillRate = FILL_RATE_ALPHA * rate + (1 - FILL_RATE_ALPHA) * fillRate;
+                millisToFull = fillRate > 0 ? (long) (unallocatedBytes / fillRate) : Long.MAX_VALUE;
+            }
+            lastUnallocatedBytes = unallocatedBytes;
+            lastCheckedMS = now;
+        }
+
+        long nextCheckDelayMS(long unallocatedBytes) {
+            // wait 1 ms per MB or approx 1 sec per GB free.
+            final long delayMS = unallocatedBytes >> 20;
+            // not filling, check less often
+            if (millisToFull == Long.MAX_VALUE)
+                return delayMS * 2;
+            // check often enough to see it crossing the horizon
+            return Math.min(delayMS, (millisToFull - FORECAST_HORIZON_MS) / 4);
+        }
     }
 
     private static class NotifyDiskLowIterator implements NotifyDiskLow {
@@ -195,5 +502,11 @@ public enum DiskSpaceMonitor implements Runnable, Closeable {
             for (NotifyDiskLow mfy : list)
                 mfy.warning(diskSpaceFullPercent, fileStore);
         }
+
+        @Override
+        public void forecast(long millisToFull, FileStore fileStore) {
+            for (NotifyDiskLow mfy : list)
+                mfy.forecast(millisToFull, fileStore);
+        }
     }
 }
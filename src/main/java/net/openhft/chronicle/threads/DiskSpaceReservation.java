@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+
+/**
+ * Headroom on a disk reserved by a writer via {@link DiskSpaceMonitor#reserve(java.io.File, long)}.
+ * <p>
+ * {@link #canMap(long)} is a cheap check against the free space last observed by the {@link DiskSpaceMonitor},
+ * less what has been {@link #mapped(long)} since and the headroom reserved by other writers, so a writer can back off
+ * before it maps a region the disk can't back.
+ */
+public final class DiskSpaceReservation implements Closeable {
+    @Nullable
+    private final DiskSpaceMonitor.DiskAttributes diskAttributes;
+    private final long bytes;
+    private volatile boolean closed;
+    // mapped via this reservation since the observation numbered lastObservation
+    private long mappedSinceObserved;
+    private int lastObservation;
+
+    DiskSpaceReservation(@Nullable DiskSpaceMonitor.DiskAttributes diskAttributes, long bytes) {
+        this.diskAttributes = diskAttributes;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @return the headroom reserved in bytes
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return true until the free space on the disk has been observed, which is done on a checker thread after
+     * {@link DiskSpaceMonitor#reserve(java.io.File, long)}
+     */
+    public boolean isPending() {
+        return diskAttributes != null && diskAttributes.observedUnallocatedBytes < 0;
+    }
+
+    /**
+     * Checks whether the next {@code bytes} can be mapped without running the disk out of space.
+     * <p>
+     * This doesn't allocate or call the file system. If the disk isn't being monitored or {@link #isPending()},
+     * this returns true.
+     *
+     * @param bytes to be mapped
+     * @return true if there is enough free space, after the headroom reserved by others and the minimum
+     * {@link DiskSpaceMonitor} panics at
+     */
+    public boolean canMap(long bytes) {
+        if (diskAttributes == null)
+            return true;
+        final long unallocated = diskAttributes.observedUnallocatedBytes;
+        if (unallocated < 0)
+            return true;
+        final long reservedByOthers = diskAttributes.reservedBytes.get() - (closed ? 0 : this.bytes);
+        return unallocated - diskAttributes.mappedBytes.get() - reservedByOthers - DiskSpaceMonitor.PANIC_BYTES >= bytes;
+    }
+
+    /**
+     * Records that {@code bytes} have been mapped, which {@link #canMap(long)} allows for until the disk is next checked.
+     * Once more than the headroom reserved has been mapped via this reservation, the disk is checked again within a
+     * second rather than when next due.
+     *
+     * @param bytes mapped
+     */
+    public synchronized void mapped(long bytes) {
+        if (diskAttributes == null)
+            return;
+        diskAttributes.mappedBytes.addAndGet(bytes);
+        final int observation = diskAttributes.observations;
+        if (observation != lastObservation) {
+            lastObservation = observation;
+            mappedSinceObserved = 0;
+        }
+        mappedSinceObserved += bytes;
+        if (mappedSinceObserved > this.bytes)
+            diskAttributes.timeNextCheckedMS = 0;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the headroom reserved
+     */
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        if (diskAttributes != null)
+            diskAttributes.reservedBytes.addAndGet(-bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "DiskSpaceReservation{" +
+                "fileStore=" + (diskAttributes == null ? "unknown" : diskAttributes.fileStore) +
+                ", bytes=" + bytes +
+                ", closed=" + closed +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grows and shrinks the CONCURRENT loops of an {@link EventGroup} between its minimum and maximum.
+ * <p>
+ * The busy fraction of each active loop is derived from its pauser's {@link PauserStatistics}, i.e. the time not spent
+ * spinning, yielding or parked. A loop is added when the average stays above the grow threshold, and the last loop is
+ * drained when the average stays below the shrink threshold and would remain below the grow threshold with one loop
+ * fewer. Either must hold for several samples in a row, and the count restarts after every change.
+ */
+class ElasticConcurrencyMonitor implements EventHandler {
+    static final int GROW_BUSY_PERCENT = Jvm.getInteger("eventGroup.conc.grow.busy.percent", 75);
+    static final int SHRINK_BUSY_PERCENT = Jvm.getInteger("eventGroup.conc.shrink.busy.percent", 25);
+    static final int SAMPLES = Jvm.getInteger("eventGroup.conc.elastic.samples", 5);
+    static final long INTERVAL_MS = Jvm.getLong("eventGroup.conc.elastic.interval.ms", 1_000L);
+
+    @NotNull
+    private final EventGroup eventGroup;
+    private final int minThreads;
+    private final int maxThreads;
+    private final long intervalNS;
+    private final double growBusy;
+    private final double shrinkBusy;
+    private final int samples;
+    private final VanillaEventLoop[] sampledLoops;
+    private final PauserStatistics[] lastStatistics;
+    private final PauserStatistics current = new PauserStatistics();
+    private final PauserStatistics delta = new PauserStatistics();
+    private long lastSampleNS = 0;
+    private int growSamples = 0;
+    private int shrinkSamples = 0;
+
+    ElasticConcurrencyMonitor(@NotNull EventGroup eventGroup, int minThreads, int maxThreads) {
+        this(eventGroup, minThreads, maxThreads, INTERVAL_MS, TimeUnit.MILLISECONDS, GROW_BUSY_PERCENT, SHRINK_BUSY_PERCENT, SAMPLES);
+    }
+
+    ElasticConcurrencyMonitor(@NotNull EventGroup eventGroup, int minThreads, int maxThreads,
+                              long interval, TimeUnit timeUnit, int growBusyPercent, int shrinkBusyPercent, int samples) {
+        if (shrinkBusyPercent >= growBusyPercent)
+            throw new IllegalArgumentException("shrink threshold " + shrinkBusyPercent + "% must be below the grow threshold " + growBusyPercent + "%");
+        this.eventGroup = eventGroup;
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.intervalNS = timeUnit.toNanos(interval);
+        this.growBusy = growBusyPercent / 100.0;
+        this.shrinkBusy = shrinkBusyPercent / 100.0;
+        this.samples = samples;
+        sampledLoops = new VanillaEventLoop[maxThreads];
+        lastStatistics = new PauserStatistics[maxThreads];
+        for (int i = 0; i < maxThreads; i++)
+            lastStatistics[i] = new PauserStatistics();
+    }
+
+    @Override
+    public boolean action() {
+        final long now = System.nanoTime();
+        if (lastSampleNS != 0 && now - lastSampleNS < intervalNS)
+            return false;
+        final long elapsedNS = now - lastSampleNS;
+        final boolean first = lastSampleNS == 0;
+        lastSampleNS = now;
+
+        final int active = eventGroup.activeConcThreads();
+        double totalBusy = 0;
+        for (int i = 0; i < maxThreads; i++) {
+            final VanillaEventLoop loop = eventGroup.concThread(i);
+            if (loop == null) {
+                sampledLoops[i] = null;
+                continue;
+            }
+            loop.pauser.phaseStatistics(current);
+            if (loop != sampledLoops[i]) {
+                // a new loop, no baseline yet
+                sampledLoops[i] = loop;
+                lastStatistics[i].copyFrom(current);
+                continue;
+            }
+            delta.delta(current, lastStatistics[i]);
+            lastStatistics[i].copyFrom(current);
+            if (i < active)
+                totalBusy += Math.max(0.0, 1.0 - (double) delta.totalNS() / elapsedNS);
+        }
+        if (first || active < 1)
+            return false;
+
+        final double averageBusy = totalBusy / active;
+        if (averageBusy > growBusy && active < maxThreads) {
+            shrinkSamples = 0;
+            if (++growSamples >= samples) {
+                growSamples = 0;
+                Jvm.perf().on(getClass(), eventGroup.name() + ": average busy " + percent(averageBusy) + "%, adding a concurrent loop to " + active);
+                eventGroup.growConcThreads();
+            }
+        } else if (averageBusy < shrinkBusy && active > minThreads && averageBusy * active / (active - 1) < growBusy) {
+            growSamples = 0;
+            if (++shrinkSamples >= samples) {
+                shrinkSamples = 0;
+                Jvm.perf().on(getClass(), eventGroup.name() + ": average busy " + percent(averageBusy) + "%, retiring one of " + active + " concurrent loops");
+                eventGroup.shrinkConcThreads();
+            }
+        } else {
+            growSamples = shrinkSamples = 0;
+        }
+        return false;
+    }
+
+    private static long percent(double fraction) {
+        return Math.round(fraction * 100);
+    }
+
+    @Override
+    public @NotNull HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    public String toString() {
+        return "ElasticConcurrencyMonitor<" + eventGroup.name() + ", " + minThreads + ".." + maxThreads + '>';
+    }
+}
@@ -21,13 +21,20 @@ import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.threads.EventHandler;
 import net.openhft.chronicle.core.threads.EventLoop;
 import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.threads.internal.ConsistentHashRing;
 import net.openhft.chronicle.threads.internal.EventLoopStateRenderer;
 import net.openhft.chronicle.threads.internal.EventLoopThreadHolder;
 import net.openhft.chronicle.threads.internal.ThreadMonitorHarness;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -71,13 +78,26 @@ public class EventGroup
     private final Set<HandlerPriority> priorities;
     @NotNull
     private final List<VanillaEventLoop> concThreads = new CopyOnWriteArrayList<>();
+    // the loop each group of handlers was placed on, sticky so a group stays together when the loops are resized.
+    // Weak so finished groups are dropped, which relies on a group's handlers sharing one key object, see GroupedEventHandler
+    private final Map<Object, Integer> concGroupLoops = new WeakHashMap<>();
+    @Nullable
+    private volatile ConsistentHashRing concRing;
+    private volatile int activeConcThreads;
+    // slots which have a PauserMonitor, so a loop added again after a shrink doesn't add another
+    private final BitSet concPauserMonitors = new BitSet();
+    // stops retired concurrent loops and moves their handlers, off the monitor loop
+    @Nullable
+    private ExecutorService concRetirer;
+    private final int minConcThreads;
     private final boolean daemon;
 
     private final Pauser replicationPauser;
+    @Nullable
+    private final PauserGroup pauserGroup;
     private VanillaEventLoop replication;
 
     @Deprecated(/* Instead use EventGroupBuilder. TODO: make package-private and undeprecate in x.28, as only EventGroupBuilder should be using */)
-    @SuppressWarnings({"this-escape", "deprecation"})
     public EventGroup(final boolean daemon,
                       @NotNull final Pauser pauser,
                       final Pauser replicationPauser,
@@ -89,14 +109,38 @@ public class EventGroup
                       @NotNull final Supplier<Pauser> concPauserSupplier,
                       final Set<HandlerPriority> priorities,
                       @NotNull final Supplier<Pauser> blockingPauserSupplier) {
+        this(daemon, pauser, replicationPauser, binding, bindingReplication, name, concThreadsNum, concBinding,
+                concPauserSupplier, priorities, blockingPauserSupplier, null, concThreadsNum);
+    }
+
+    @SuppressWarnings({"this-escape", "deprecation"})
+    EventGroup(final boolean daemon,
+               @NotNull final Pauser pauser,
+               final Pauser replicationPauser,
+               final String binding,
+               final String bindingReplication,
+               @NotNull final String name,
+               final int concThreadsNum,
+               final String concBinding,
+               @NotNull final Supplier<Pauser> concPauserSupplier,
+               final Set<HandlerPriority> priorities,
+               @NotNull final Supplier<Pauser> blockingPauserSupplier,
+               @Nullable final PauserGroup pauserGroup,
+               final int minConcThreadsNum) {
         super(name);
         this.daemon = daemon;
+        this.pauserGroup = pauserGroup;
         this.pauser = pauser;
         this.replicationPauser = replicationPauser;
         this.concBinding = concBinding;
         this.concPauserSupplier = concPauserSupplier;
         this.bindingReplication = bindingReplication;
         this.priorities = EnumSet.copyOf(priorities);
+        if (minConcThreadsNum < 1 && concThreadsNum > 0 || minConcThreadsNum > concThreadsNum)
+            throw new IllegalArgumentException("Minimum concurrent threads " + minConcThreadsNum + " must be between 1 and " + concThreadsNum);
+        this.minConcThreads = minConcThreadsNum;
+        this.activeConcThreads = minConcThreadsNum;
+        this.concRing = priorities.contains(HandlerPriority.CONCURRENT) && minConcThreadsNum > 0 ? new ConsistentHashRing(minConcThreadsNum) : null;
         List<Object> closeable = new ArrayList<>();
         try {
             final Set<HandlerPriority> corePriorities = priorities.stream()
@@ -108,6 +152,10 @@ public class EventGroup
                     : new VanillaEventLoop(this, nameWithSlash() + "core-event-loop", pauser, 1, daemon, binding, priorities)
                     : null;
             closeable.add(core);
+            if (core == null && pauserGroup != null)
+                pauserGroup.remove(pauser);
+            else
+                checkPendingWork(pauser, core);
             monitor = new MonitorEventLoop(this, nameWithSlash() + "~monitor",
                     Pauser.millis(Integer.getInteger("monitor.interval", 10)));
             closeable.add(monitor);
@@ -119,8 +167,11 @@ public class EventGroup
             }
             blocking = priorities.contains(HandlerPriority.BLOCKING) ? new BlockingEventLoop(this, nameWithSlash() + "blocking-event-loop", blockingPauserSupplier) : null;
             closeable.add(blocking);
-            if (priorities.contains(HandlerPriority.CONCURRENT))
+            if (priorities.contains(HandlerPriority.CONCURRENT)) {
                 IntStream.range(0, concThreadsNum).forEach(i -> concThreads.add(null));
+                if (minConcThreadsNum < concThreadsNum)
+                    monitor.addHandler(new ElasticConcurrencyMonitor(this, minConcThreadsNum, concThreadsNum));
+            }
 
             singleThreadedCheckDisabled(true);
 
@@ -142,9 +193,12 @@ public class EventGroup
     @SuppressWarnings("deprecation")
     private synchronized VanillaEventLoop getReplication() {
         if (replication == null) {
-            final Pauser newReplicationPauser = replicationPauser != null ? replicationPauser : Pauser.balancedUpToMillis(REPLICATION_EVENT_PAUSE_TIME);
+            final Pauser newReplicationPauser = replicationPauser != null ? replicationPauser
+                    : pauserGroup != null ? pauserGroup.newPauser()
+                    : Pauser.balancedUpToMillis(REPLICATION_EVENT_PAUSE_TIME);
             replication = new VanillaEventLoop(this, nameWithSlash() + "replication-event-loop", newReplicationPauser,
                     REPLICATION_EVENT_PAUSE_TIME, daemon, bindingReplication, EnumSet.of(HandlerPriority.REPLICATION, HandlerPriority.REPLICATION_TIMER));
+            checkPendingWork(newReplicationPauser, replication);
 
             addThreadMonitoring(REPLICATION_MONITOR_INTERVAL_MS, replication);
             if (isAlive())
@@ -154,10 +208,22 @@ public class EventGroup
         return replication;
     }
 
+    /**
+     * A loop in a {@link PauserGroup} is only woken by {@link PauserGroup#unpause()} if it has handlers waiting to be accepted
+     */
+    private static void checkPendingWork(Pauser pauser, CoreEventLoop loop) {
+        if (pauser instanceof PauserGroup.Member && loop instanceof MediumEventLoop)
+            ((PauserGroup.Member) pauser).pendingWork(((MediumEventLoop) loop)::hasPendingHandlers);
+    }
+
     private void addThreadMonitoring(long replicationMonitorIntervalMs, CoreEventLoop replication) {
         if (ENABLE_LOOP_BLOCK_MONITOR)
             monitor.addHandler(new ThreadMonitorHarness(new EventLoopThreadHolder(
                     TimeUnit.NANOSECONDS.convert(replicationMonitorIntervalMs, TimeUnit.MILLISECONDS), replication)));
+        if (HandlerSampler.isEnabled())
+            monitor.addHandler(HandlerSampler.forLoop(replication));
+        if (BatchRateMonitor.isEnabled() && replication instanceof MediumEventLoop)
+            monitor.addHandler(new BatchRateMonitor((MediumEventLoop) replication, BatchRateMonitor.REPORT_INTERVAL_SECS * 1_000_000_000L));
     }
 
     @SuppressWarnings("deprecation")
@@ -166,17 +232,37 @@ public class EventGroup
         if (loop == null) {
             loop = new VanillaEventLoop(this, nameWithSlash() + "conc-event-loop-" + n, concPauserSupplier.get(),
                     REPLICATION_EVENT_PAUSE_TIME, daemon, concBinding, EnumSet.of(HandlerPriority.CONCURRENT));
+            checkPendingWork(loop.pauser, loop);
             concThreads.set(n, loop);
             addThreadMonitoring(REPLICATION_MONITOR_INTERVAL_MS, loop);
             if (isAlive())
                 loop.start();
-            monitor.addHandler(new PauserMonitor(pauser, nameWithSlash() + "conc-event-loop-" + n + " pauser", 300));
+            if (!concPauserMonitors.get(n)) {
+                concPauserMonitors.set(n);
+                monitor.addHandler(new PauserMonitor(pauser, nameWithSlash() + "conc-event-loop-" + n + " pauser", 300));
+            }
         }
         return loop;
     }
 
+    /**
+     * @return the group of pausers shared by the core, replication and concurrent loops, or null if they each pause independently
+     */
+    @Nullable
+    public PauserGroup pauserGroup() {
+        return pauserGroup;
+    }
+
+    /**
+     * Wakes the core and replication loops, or with a {@link PauserGroup}, just the loops in the group which have
+     * handlers waiting to be accepted, see {@link PauserGroup#unpause()}.
+     */
     @Override
     public void unpause() {
+        if (pauserGroup != null) {
+            pauserGroup.unpause();
+            return;
+        }
         pauser.unpause();
         if (replication != null)
             replication.unpause();
@@ -220,9 +306,9 @@ public class EventGroup
                 break;
 
             case CONCURRENT: {
-                if (concThreads.isEmpty())
+                if (concThreads.isEmpty() || concRing == null)
                     throw new IllegalStateException("Cannot add CONCURRENT " + handler + " to " + name);
-                getConcThread(counter.getAndIncrement() % concThreads.size()).addHandler(handler);
+                addConcurrentHandler(handler);
                 break;
             }
 
@@ -231,6 +317,145 @@ public class EventGroup
         }
     }
 
+    /**
+     * Adds to an active concurrent loop. Handlers in the same group share a loop, others are spread round-robin.
+     * This holds the lock so a loop being retired receives no more handlers.
+     */
+    private synchronized void addConcurrentHandler(@NotNull final EventHandler handler) {
+        final int active = activeConcThreads;
+        final int n;
+        if (handler instanceof GroupedEventHandler) {
+            final Object key = ((GroupedEventHandler) handler).groupKey();
+            final Integer placed = concGroupLoops.get(key);
+            if (placed != null && placed < active) {
+                n = placed;
+            } else {
+                n = concRing.nodeFor(key);
+                concGroupLoops.put(key, n);
+            }
+        } else {
+            n = (counter.getAndIncrement() & Integer.MAX_VALUE) % active;
+        }
+        getConcThread(n).addHandler(handler);
+    }
+
+    /**
+     * @return the number of concurrent loops handlers are currently placed on
+     */
+    public int activeConcThreads() {
+        return activeConcThreads;
+    }
+
+    /**
+     * Registers a channel so the core loop wakes as soon as it is ready, see {@link MediumEventLoop#registerChannel(SelectableChannel, int)}.
+     * The group must have been built with a {@link SelectorPauser}, e.g. {@link Pauser#selecting()}.
+     *
+     * @param channel a non-blocking channel
+     * @param ops     the operations to wake for, e.g. {@link SelectionKey#OP_READ}
+     * @return the key, to be cancelled when the channel is no longer of interest
+     * @throws ClosedChannelException if the channel is closed
+     */
+    @NotNull
+    public SelectionKey registerChannel(@NotNull final SelectableChannel channel, final int ops) throws ClosedChannelException {
+        if (!(core instanceof MediumEventLoop))
+            throw new IllegalStateException("Cannot register a channel with " + name + " as it has no core loop");
+        return ((MediumEventLoop) core).registerChannel(channel, ops);
+    }
+
+    /**
+     * Moves a handler added to this group to {@code target}, e.g. another {@code EventGroup}, without closing it.
+     * BLOCKING and MONITOR handlers cannot be moved.
+     *
+     * @param handler to move, as it was added to this group
+     * @param target  to add it to
+     * @return a future completed with true once the handler has been added to {@code target},
+     * or false if it was not found in this group
+     * @see MediumEventLoop#transfer(EventHandler, EventLoop)
+     */
+    @NotNull
+    public CompletableFuture<Boolean> transfer(@NotNull final EventHandler handler, @NotNull final EventLoop target) {
+        throwExceptionIfClosed();
+        final List<MediumEventLoop> loops = new ArrayList<>();
+        if (core instanceof MediumEventLoop)
+            loops.add((MediumEventLoop) core);
+        synchronized (this) {
+            if (replication != null)
+                loops.add(replication);
+        }
+        for (VanillaEventLoop loop : concThreads) {
+            if (loop != null)
+                loops.add(loop);
+        }
+        // try each loop in turn until one has the handler
+        CompletableFuture<Boolean> result = CompletableFuture.completedFuture(false);
+        for (MediumEventLoop loop : loops)
+            result = result.thenCompose(found -> found
+                    ? CompletableFuture.completedFuture(true)
+                    : loop.transfer(handler, target));
+        return result;
+    }
+
+    @Nullable
+    VanillaEventLoop concThread(int n) {
+        return concThreads.get(n);
+    }
+
+    /**
+     * Adds a concurrent loop, up to the maximum. Existing handlers stay where they are.
+     */
+    synchronized void growConcThreads() {
+        if (activeConcThreads >= concThreads.size() || isClosing())
+            return;
+        final int active = ++activeConcThreads;
+        concRing = new ConsistentHashRing(active);
+        getConcThread(active - 1);
+    }
+
+    /**
+     * Retires the last concurrent loop, down to the minimum, moving its handlers to the remaining loops.
+     * The handlers see loopFinished() on the retired loop and loopStarted() on their new loop.
+     * <p>
+     * Stopping the loop waits for its thread, so this is done on another thread rather than the monitor loop calling this.
+     *
+     * @return completes once the loop is closed and its handlers have been added to the remaining loops
+     */
+    CompletableFuture<Void> shrinkConcThreads() {
+        final VanillaEventLoop loop;
+        final ExecutorService retirer;
+        synchronized (this) {
+            if (activeConcThreads <= minConcThreads || isClosing())
+                return CompletableFuture.completedFuture(null);
+            final int active = --activeConcThreads;
+            concRing = new ConsistentHashRing(active);
+            loop = concThreads.get(active);
+            concThreads.set(active, null);
+            if (loop == null)
+                return CompletableFuture.completedFuture(null);
+            if (concRetirer == null)
+                concRetirer = new NamedThreadFactory(nameWithSlash() + "conc-retirer", true).newFixedThreadPool(1);
+            retirer = concRetirer;
+        }
+        return CompletableFuture.runAsync(() -> retireConcThread(loop), retirer)
+                .whenComplete((v, t) -> {
+                    if (t != null)
+                        Jvm.warn().on(EventGroup.class, "Failed to retire " + loop.name(), t);
+                });
+    }
+
+    private void retireConcThread(@NotNull VanillaEventLoop loop) {
+        loop.stop();
+        final List<EventHandler> handlers = loop.detachHandlers();
+        if (pauserGroup != null)
+            pauserGroup.remove(loop.pauser);
+        loop.close();
+        for (EventHandler handler : handlers) {
+            if (isClosing())
+                closeQuietly(handler);
+            else
+                addConcurrentHandler(handler);
+        }
+    }
+
     public void setupTimeLimitMonitor(final long timeLimitNS, final LongSupplier timeOfStart) {
         throwExceptionIfClosed();
 
@@ -345,7 +570,25 @@ public class EventGroup
         );
 
         closeQuietly(concThreads);
+        final ExecutorService retirer;
+        synchronized (this) {
+            retirer = concRetirer;
+        }
+        if (retirer != null)
+            Threads.shutdown(retirer);
         awaitTermination();
+        if (pauserGroup != null)
+            leavePauserGroup(pauserGroup);
+    }
+
+    private void leavePauserGroup(@NotNull PauserGroup group) {
+        group.remove(pauser);
+        if (replication != null)
+            group.remove(replication.pauser);
+        for (VanillaEventLoop concThread : concThreads) {
+            if (concThread != null)
+                group.remove(concThread.pauser);
+        }
     }
 
     @Override
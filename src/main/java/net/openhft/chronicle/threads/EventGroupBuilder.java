@@ -43,6 +43,7 @@ public class EventGroupBuilder implements Builder<EventLoop> {
     @NotNull
     private String name = "";
     private int concurrentThreadsNum = EventGroup.CONC_THREADS;
+    private int minConcurrentThreadsNum = -1;
     private String concurrentBinding = "none";
     @NotNull
     private Supplier<Pauser> concurrentPauserSupplier = () -> Pauser.balancedUpToMillis(REPLICATION_EVENT_PAUSE_TIME);
@@ -50,6 +51,7 @@ public class EventGroupBuilder implements Builder<EventLoop> {
     private String defaultBinding = "none";
     @NotNull
     private Supplier<Pauser> blockingPauserSupplier = PauserMode.balanced;
+    private PauserGroup pauserGroup;
 
     public static EventGroupBuilder builder() {
         return new EventGroupBuilder();
@@ -61,6 +63,20 @@ public class EventGroupBuilder implements Builder<EventLoop> {
     @SuppressWarnings("deprecation")
     @Override
     public EventGroup build() {
+        if (pauserGroup != null)
+            return new EventGroup(daemon,
+                    pauserGroup.newPauser(),
+                    null,
+                    defaultBinding(binding),
+                    defaultBinding(replicationBinding),
+                    name,
+                    concurrentThreadsNum,
+                    defaultBinding(concurrentBinding),
+                    pauserGroup::newPauser,
+                    priorities,
+                    blockingPauserSupplier,
+                    pauserGroup,
+                    minConcurrentThreadsNum());
         return new EventGroup(daemon,
                 pauserOrDefault(),
                 replicationPauser,
@@ -71,7 +87,13 @@ public class EventGroupBuilder implements Builder<EventLoop> {
                 defaultBinding(concurrentBinding),
                 concurrentPauserSupplier,
                 priorities,
-                blockingPauserSupplier);
+                blockingPauserSupplier,
+                null,
+                minConcurrentThreadsNum());
+    }
+
+    private int minConcurrentThreadsNum() {
+        return minConcurrentThreadsNum < 0 ? concurrentThreadsNum : minConcurrentThreadsNum;
     }
 
     @NotNull
@@ -130,6 +152,22 @@ public class EventGroupBuilder implements Builder<EventLoop> {
 
     public EventGroupBuilder withConcurrentThreadsNum(int concurrentThreadsNum) {
         this.concurrentThreadsNum = concurrentThreadsNum;
+        this.minConcurrentThreadsNum = -1;
+        return this;
+    }
+
+    /**
+     * Starts with {@code min} CONCURRENT loops, adding loops up to {@code max} while they are busy and retiring
+     * them, moving their handlers to the remaining loops, when load falls. Busy is judged from the time each loop's
+     * pauser spends pausing, so the concurrent pausers should not be {@link BusyPauser}.
+     *
+     * @param min the number of concurrent loops at start and when idle, at least 1
+     * @param max the maximum number of concurrent loops
+     * @return this
+     */
+    public EventGroupBuilder withElasticConcurrentThreads(int min, int max) {
+        this.concurrentThreadsNum = max;
+        this.minConcurrentThreadsNum = min;
         return this;
     }
 
@@ -143,6 +181,19 @@ public class EventGroupBuilder implements Builder<EventLoop> {
         return this;
     }
 
+    /**
+     * Has the core, replication and concurrent loops use members of a shared {@link PauserGroup}, so they idle together
+     * and {@link EventGroup#unpause()} only wakes those with pending work. This overrides {@link #withPauser(Pauser)},
+     * {@link #withReplicationPauser(Pauser)} and {@link #withConcurrentPauserSupplier(Supplier)}.
+     *
+     * @param pauserGroup to take the pausers from, or null to have each loop pause independently
+     * @return this
+     */
+    public EventGroupBuilder withPauserGroup(PauserGroup pauserGroup) {
+        this.pauserGroup = pauserGroup;
+        return this;
+    }
+
     public EventGroupBuilder withPriorities(Set<HandlerPriority> priorities) {
         this.priorities = priorities;
         return this;
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.EventLoop;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A single-producer, single-consumer channel between two event loops over a ring of pre-allocated, reusable slots.
+ * <p>
+ * The producer {@link #claim()}s the next free slot, fills it in, and {@link #publish()}es it. The consumer is a handler
+ * on the consumer's event loop, which passes each published slot to a {@link Consumer} and only reports busy if it
+ * drained something. Publishing into an empty channel unpauses the consumer's event loop.
+ * <p>
+ * Slots are reused, so neither side may retain a slot after publishing or consuming it.
+ *
+ * @param <T> the type of slot
+ */
+public final class EventLoopChannel<T> {
+    private final Object[] slots;
+    private final int mask;
+    private final EventLoop consumerLoop;
+    private final Consumer<? super T> consumer;
+    // the next sequence to publish, written by the producer
+    private final AtomicLong tail = new AtomicLong();
+    // the next sequence to consume, written by the consumer
+    private final AtomicLong head = new AtomicLong();
+    // used by the producer only
+    private long headCache = 0;
+    private volatile boolean closed = false;
+
+    private EventLoopChannel(int capacity, Supplier<? extends T> slotFactory, EventLoop consumerLoop, Consumer<? super T> consumer) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("capacity must be at least 2, was " + capacity);
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        slots = new Object[size];
+        for (int i = 0; i < size; i++)
+            slots[i] = slotFactory.get();
+        mask = size - 1;
+        this.consumerLoop = consumerLoop;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Creates a channel consumed by a {@link HandlerPriority#MEDIUM} handler
+     *
+     * @see #create(int, Supplier, EventLoop, Consumer, HandlerPriority)
+     */
+    @NotNull
+    public static <T> EventLoopChannel<T> create(int capacity,
+                                                 @NotNull Supplier<? extends T> slotFactory,
+                                                 @NotNull EventLoop consumerLoop,
+                                                 @NotNull Consumer<? super T> consumer) {
+        return create(capacity, slotFactory, consumerLoop, consumer, HandlerPriority.MEDIUM);
+    }
+
+    /**
+     * Creates a channel and adds its consumer to {@code consumerLoop}
+     *
+     * @param capacity     the number of slots, rounded up to a power of two
+     * @param slotFactory  creates each slot up front
+     * @param consumerLoop to consume on
+     * @param consumer     called on the consumer loop with each slot published
+     * @param priority     of the consuming handler
+     * @return the channel
+     */
+    @NotNull
+    public static <T> EventLoopChannel<T> create(int capacity,
+                                                 @NotNull Supplier<? extends T> slotFactory,
+                                                 @NotNull EventLoop consumerLoop,
+                                                 @NotNull Consumer<? super T> consumer,
+                                                 @NotNull HandlerPriority priority) {
+        final EventLoopChannel<T> channel = new EventLoopChannel<>(capacity, slotFactory, consumerLoop, consumer);
+        consumerLoop.addHandler(channel.new ConsumerHandler(priority));
+        return channel;
+    }
+
+    /**
+     * Claims the next slot to fill in. Must only be called by the producer, and followed by {@link #publish()}.
+     *
+     * @return the slot, or null if the channel is full
+     */
+    @Nullable
+    public T claim() {
+        final long t = tail.get();
+        if (t - headCache > mask) {
+            headCache = head.get();
+            if (t - headCache > mask)
+                return null;
+        }
+        return slot(t);
+    }
+
+    /**
+     * Publishes the slot last claimed. Must only be called by the producer.
+     */
+    public void publish() {
+        final long t = tail.get();
+        tail.set(t + 1);
+        // the consumer may have found the channel empty and be about to pause
+        if (head.get() == t)
+            consumerLoop.unpause();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T slot(long sequence) {
+        return (T) slots[(int) sequence & mask];
+    }
+
+    /**
+     * @return the number of slots published but not yet consumed
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Removes the consumer from its event loop, anything not yet consumed is dropped
+     */
+    public void close() {
+        closed = true;
+        consumerLoop.unpause();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private final class ConsumerHandler implements EventHandler {
+        private final HandlerPriority priority;
+
+        ConsumerHandler(HandlerPriority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean action() throws InvalidEventHandlerException {
+            if (closed)
+                throw InvalidEventHandlerException.reusable();
+            long h = head.get();
+            final long t = tail.get();
+            if (h == t)
+                return false;
+            for (; h < t; h++)
+                consumer.accept(slot(h));
+            // as this reports busy, tail is read again before the loop can pause, see publish()
+            head.set(h);
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public HandlerPriority priority() {
+            return priority;
+        }
+
+        @Override
+        public String toString() {
+            return "EventLoopChannel.ConsumerHandler{size=" + size() + ", capacity=" + capacity() + '}';
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventLoop;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * An {@link ExecutorFactory} whose scheduled executors run on an existing event loop, so background housekeeping
+ * shares that loop's thread rather than each task source getting a thread of its own.
+ * <p>
+ * Executors for blocking work still come from {@link VanillaExecutorFactory}. The no-argument constructor, used by the
+ * {@code threads.executor.factory} system property, shares one daemon housekeeping loop across the JVM.
+ */
+public class EventLoopExecutorFactory implements ExecutorFactory {
+    private final EventLoop eventLoop;
+
+    public EventLoopExecutorFactory() {
+        this(HousekeepingLoop.INSTANCE);
+    }
+
+    /**
+     * @param eventLoop to run scheduled tasks on, must accept {@link HandlerPriority#TIMER} handlers
+     */
+    public EventLoopExecutorFactory(@NotNull EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    @Override
+    public ExecutorService acquireExecutorService(String name, int threads, boolean daemon) {
+        return VanillaExecutorFactory.INSTANCE.acquireExecutorService(name, threads, daemon);
+    }
+
+    @Override
+    public ScheduledExecutorService acquireScheduledExecutorService(String name, boolean daemon) {
+        return new EventLoopScheduledExecutorService(name, eventLoop);
+    }
+
+    static final class HousekeepingLoop {
+        static final VanillaEventLoop INSTANCE = new VanillaEventLoop(null, "housekeeping", Pauser.millis(1), 1,
+                true, "none", EnumSet.of(HandlerPriority.TIMER));
+
+        static {
+            INSTANCE.start();
+        }
+
+        private HousekeepingLoop() {
+        }
+    }
+}
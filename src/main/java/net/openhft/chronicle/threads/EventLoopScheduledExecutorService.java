@@ -0,0 +1,372 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.EventLoop;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A {@link ScheduledExecutorService} which runs its tasks in the TIMER phase of an existing event loop, e.g. a
+ * {@link VanillaEventLoop} or an {@link EventGroup}, rather than on a thread of its own.
+ * <p>
+ * Tasks run at most once per timer interval of the loop, so timing is only as precise as that interval, and a task which
+ * blocks delays the loop. Periodic tasks reuse their task object and tasks passed to {@link #execute(Runnable)} come from
+ * a pool, so neither allocates once warmed up. Only the futures of one-off scheduled tasks are created per call.
+ * <p>
+ * After {@link #shutdown()}, periodic tasks are cancelled, delayed tasks still run, and the executor removes itself from the loop.
+ * It also terminates if the loop stops.
+ */
+public class EventLoopScheduledExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final int PENDING = 0;
+    private static final int DONE = 1;
+    private static final int CANCELLED = 2;
+
+    private final String name;
+    private final EventLoop eventLoop;
+    // guarded by itself, tasks submitted but not yet seen by the loop
+    private final ArrayDeque<ScheduledTask<?>> inbox = new ArrayDeque<>();
+    // used by the loop thread only
+    private final PriorityQueue<ScheduledTask<?>> queue = new PriorityQueue<>();
+    // guarded by itself, recycled tasks for execute()
+    private final ArrayDeque<ScheduledTask<Object>> pool = new ArrayDeque<>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private long sequence = 0;
+    private volatile boolean shutdown = false;
+    private volatile boolean cancelQueued = false;
+
+    /**
+     * @param name      used in toString
+     * @param eventLoop to run on, must accept {@link HandlerPriority#TIMER} handlers
+     */
+    @SuppressWarnings("this-escape")
+    public EventLoopScheduledExecutorService(@NotNull String name, @NotNull EventLoop eventLoop) {
+        this.name = name;
+        this.eventLoop = eventLoop;
+        eventLoop.addHandler(new TimerHandler());
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        ScheduledTask<Object> task;
+        synchronized (pool) {
+            task = pool.poll();
+        }
+        if (task == null)
+            task = new ScheduledTask<>(true);
+        task.init(command, null, System.nanoTime(), 0);
+        enqueue(task);
+    }
+
+    @NotNull
+    @Override
+    public ScheduledFuture<?> schedule(@NotNull Runnable command, long delay, @NotNull TimeUnit unit) {
+        return enqueue(new ScheduledTask<>(false).init(command, null, triggerTime(delay, unit), 0));
+    }
+
+    @NotNull
+    @Override
+    public <V> ScheduledFuture<V> schedule(@NotNull Callable<V> callable, long delay, @NotNull TimeUnit unit) {
+        return enqueue(new ScheduledTask<V>(false).init(null, callable, triggerTime(delay, unit), 0));
+    }
+
+    @NotNull
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(@NotNull Runnable command, long initialDelay, long period, @NotNull TimeUnit unit) {
+        if (period <= 0)
+            throw new IllegalArgumentException("period must be positive, was " + period);
+        return enqueue(new ScheduledTask<>(false).init(command, null, triggerTime(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @NotNull
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(@NotNull Runnable command, long initialDelay, long delay, @NotNull TimeUnit unit) {
+        if (delay <= 0)
+            throw new IllegalArgumentException("delay must be positive, was " + delay);
+        // a negative period means a fixed delay
+        return enqueue(new ScheduledTask<>(false).init(command, null, triggerTime(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    private static long triggerTime(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+    }
+
+    private <V> ScheduledTask<V> enqueue(ScheduledTask<V> task) {
+        synchronized (inbox) {
+            if (shutdown)
+                throw new RejectedExecutionException(name + " has been shut down");
+            task.sequence = sequence++;
+            inbox.add(task);
+        }
+        return task;
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (inbox) {
+            shutdown = true;
+        }
+        eventLoop.unpause();
+    }
+
+    /**
+     * Shuts down, returning the tasks the loop has not yet seen. Tasks the loop has already queued are cancelled on its next timer tick.
+     */
+    @NotNull
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> notRun = new ArrayList<>();
+        synchronized (inbox) {
+            shutdown = true;
+            cancelQueued = true;
+            for (ScheduledTask<?> task; (task = inbox.poll()) != null; )
+                notRun.add(task);
+        }
+        eventLoop.unpause();
+        return notRun;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "EventLoopScheduledExecutorService{" +
+                "name='" + name + '\'' +
+                ", eventLoop=" + eventLoop.name() +
+                ", shutdown=" + shutdown +
+                '}';
+    }
+
+    private void recycle(ScheduledTask<?> task) {
+        if (!task.pooled)
+            return;
+        @SuppressWarnings("unchecked")
+        final ScheduledTask<Object> pooledTask = (ScheduledTask<Object>) task;
+        pooledTask.init(null, null, 0, 0);
+        synchronized (pool) {
+            pool.add(pooledTask);
+        }
+    }
+
+    private final class TimerHandler implements EventHandler {
+        @Override
+        public boolean action() throws InvalidEventHandlerException {
+            final boolean shuttingDown = shutdown;
+            synchronized (inbox) {
+                for (ScheduledTask<?> task; (task = inbox.poll()) != null; )
+                    queue.add(task);
+            }
+            if (cancelQueued) {
+                for (ScheduledTask<?> task; (task = queue.poll()) != null; )
+                    task.cancel(false);
+            }
+
+            boolean busy = false;
+            final long now = System.nanoTime();
+            for (ScheduledTask<?> task; (task = queue.peek()) != null && task.timeNS - now <= 0; ) {
+                queue.poll();
+                if (shuttingDown && task.isPeriodic())
+                    task.cancel(false);
+                if (task.isCancelled()) {
+                    recycle(task);
+                    continue;
+                }
+                busy = true;
+                if (task.runTask())
+                    queue.add(task);
+                else
+                    recycle(task);
+            }
+            if (shuttingDown && queue.isEmpty())
+                throw new InvalidEventHandlerException();
+            return busy;
+        }
+
+        @Override
+        public void loopFinished() {
+            shutdown = true;
+            terminated.countDown();
+        }
+
+        @Override
+        public @NotNull HandlerPriority priority() {
+            return HandlerPriority.TIMER;
+        }
+
+        @Override
+        public String toString() {
+            return "TimerHandler<" + name + '>';
+        }
+    }
+
+    static final class ScheduledTask<V> implements RunnableScheduledFuture<V> {
+        final boolean pooled;
+        private Runnable runnable;
+        private Callable<V> callable;
+        long timeNS;
+        // positive for a fixed rate, negative for a fixed delay
+        private long periodNS;
+        long sequence;
+        private volatile int state;
+        private V result;
+        private Throwable failure;
+
+        ScheduledTask(boolean pooled) {
+            this.pooled = pooled;
+        }
+
+        synchronized ScheduledTask<V> init(Runnable runnable, Callable<V> callable, long timeNS, long periodNS) {
+            this.runnable = runnable;
+            this.callable = callable;
+            this.timeNS = timeNS;
+            this.periodNS = periodNS;
+            this.state = PENDING;
+            this.result = null;
+            this.failure = null;
+            return this;
+        }
+
+        /**
+         * Runs the task on the loop thread.
+         *
+         * @return true if it should run again
+         */
+        boolean runTask() {
+            try {
+                if (callable != null) {
+                    final V value = callable.call();
+                    complete(DONE, value, null);
+                    return false;
+                }
+                runnable.run();
+            } catch (Throwable t) {
+                // nothing can see the result of a pooled task
+                if (pooled)
+                    Jvm.warn().on(EventLoopScheduledExecutorService.class, "Task failed " + runnable, t);
+                complete(DONE, null, t);
+                return false;
+            }
+            if (periodNS == 0) {
+                complete(DONE, null, null);
+                return false;
+            }
+            timeNS = periodNS > 0 ? timeNS + periodNS : System.nanoTime() - periodNS;
+            return !isDone();
+        }
+
+        private synchronized boolean complete(int newState, V value, Throwable t) {
+            if (state != PENDING)
+                return false;
+            state = newState;
+            result = value;
+            failure = t;
+            notifyAll();
+            return true;
+        }
+
+        @Override
+        public void run() {
+            runTask();
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return periodNS != 0;
+        }
+
+        @Override
+        public long getDelay(@NotNull TimeUnit unit) {
+            return unit.convert(timeNS - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(@NotNull Delayed o) {
+            if (o == this)
+                return 0;
+            if (o instanceof ScheduledTask) {
+                final ScheduledTask<?> other = (ScheduledTask<?>) o;
+                final long diff = timeNS - other.timeNS;
+                if (diff != 0)
+                    return diff < 0 ? -1 : 1;
+                return Long.compare(sequence, other.sequence);
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return complete(CANCELLED, null, null);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return state != PENDING;
+        }
+
+        @Override
+        public synchronized V get() throws InterruptedException, ExecutionException {
+            while (state == PENDING)
+                wait();
+            return report();
+        }
+
+        @Override
+        public synchronized V get(long timeout, @NotNull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            final long deadlineNS = System.nanoTime() + unit.toNanos(timeout);
+            while (state == PENDING) {
+                final long remainingNS = deadlineNS - System.nanoTime();
+                if (remainingNS <= 0)
+                    throw new TimeoutException();
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNS);
+            }
+            return report();
+        }
+
+        private V report() throws ExecutionException {
+            if (state == CANCELLED)
+                throw new CancellationException();
+            if (failure != null)
+                throw new ExecutionException(failure);
+            return result;
+        }
+    }
+}
@@ -25,10 +25,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public final class EventLoops {
 
@@ -37,39 +37,65 @@ public final class EventLoops {
     }
 
     /**
-     * Stop many {@link EventLoop}s concurrently using {@link ForkJoinPool#commonPool()}
+     * Stop many {@link EventLoop}s concurrently
      * <p>
+     * Each loop which supports it is asked to stop first, and all of those are waited for together via their
+     * {@link AbstractLifecycleEventLoop#terminationFuture()}, before each loop is stopped in turn.
      * Returns when all EventLoops are stopped, safe to pass nulls or collections containing nulls
      *
      * @param eventLoops A list of EventLoops or collections of event loops
      */
     public static void stopAll(Object... eventLoops) {
-        List<Callable<Void>> eventLoopStoppers = new ArrayList<>();
-        addAllEventLoopStoppers(Arrays.asList(eventLoops), eventLoopStoppers);
-        for (Future<Void> voidFuture : ForkJoinPool.commonPool().invokeAll(eventLoopStoppers)) {
+        List<EventLoop> loops = new ArrayList<>();
+        addAllEventLoops(Arrays.asList(eventLoops), loops);
+        if (loops.isEmpty())
+            return;
+        if (loops.size() > 1)
+            awaitRequestedStops(loops);
+        for (EventLoop loop : loops) {
             try {
-                voidFuture.get();
-            } catch (ExecutionException e) {
+                loop.stop();
+            } catch (RuntimeException e) {
                 Jvm.error().on(EventLoops.class, "Error stopping event loop", e);
-            } catch (InterruptedException e) {
-                Jvm.warn().on(EventLoops.class, "Interrupted waiting for event loops to stop");
-                Thread.currentThread().interrupt();
             }
         }
     }
 
-    private static void addAllEventLoopStoppers(Collection<?> collection, List<Callable<Void>> stoppers) {
+    /**
+     * Asks each loop to stop, and waits for those which will finish by themselves, so none waits for another to stop.
+     * Any still running after {@link Threads#SHUTDOWN_WAIT_MILLIS} are left to {@link EventLoop#stop()}, which interrupts them.
+     */
+    private static void awaitRequestedStops(List<EventLoop> loops) {
+        final List<CompletableFuture<Void>> terminated = new ArrayList<>();
+        for (EventLoop loop : loops) {
+            if (loop instanceof AbstractLifecycleEventLoop) {
+                final AbstractLifecycleEventLoop lifecycleEventLoop = (AbstractLifecycleEventLoop) loop;
+                if (lifecycleEventLoop.requestStop())
+                    terminated.add(lifecycleEventLoop.terminationFuture());
+            }
+        }
+        if (terminated.isEmpty())
+            return;
+        try {
+            CompletableFuture.allOf(terminated.toArray(new CompletableFuture<?>[0]))
+                    .get(Threads.SHUTDOWN_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            Jvm.debug().on(EventLoops.class, "Not all event loops finished when asked to stop", e);
+        } catch (InterruptedException e) {
+            Jvm.warn().on(EventLoops.class, "Interrupted waiting for event loops to stop");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void addAllEventLoops(Collection<?> collection, List<EventLoop> loops) {
         for (Object o : collection) {
             if (o == null) {
                 continue;
             }
             if (o instanceof EventLoop) {
-                stoppers.add(() -> {
-                    ((EventLoop) o).stop();
-                    return null;
-                });
+                loops.add((EventLoop) o);
             } else if (o instanceof Collection) {
-                addAllEventLoopStoppers((Collection<?>) o, stoppers);
+                addAllEventLoops((Collection<?>) o, loops);
             } else {
                 Jvm.warn().on(EventLoops.class, "Unexpected object passed to EventLoops.stop(): " + o);
             }
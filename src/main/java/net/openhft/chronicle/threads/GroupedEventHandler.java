@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link EventHandler} which must run on the same thread as the other handlers with an equal {@link #groupKey()},
+ * e.g. a TCP reader and the session state machine it feeds.
+ * <p>
+ * {@link EventGroup} places {@link net.openhft.chronicle.core.threads.HandlerPriority#CONCURRENT} handlers with the same
+ * key on the same concurrent loop, choosing the loop by consistent hashing so changing the number of loops moves as few
+ * groups as possible. Other CONCURRENT handlers are still spread round-robin.
+ */
+public interface GroupedEventHandler extends EventHandler {
+
+    /**
+     * The handlers of a group should return the same key object, e.g. a shared session, rather than a new String or
+     * boxed value on each call. The loop a group was placed on is only remembered while its key is reachable, so
+     * otherwise a later handler can be placed on a different loop once the loops have been resized.
+     *
+     * @return the key shared by handlers which must run on the same thread, its {@code hashCode()} must be stable
+     */
+    @NotNull
+    Object groupKey();
+}
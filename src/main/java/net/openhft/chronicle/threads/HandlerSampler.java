@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A statistical profile of which handlers an event loop spends its time in, run on the monitor thread.
+ * <p>
+ * Every sample interval this reads the handler the loop last published via {@link CoreEventLoop#currentHandler()}
+ * and counts it, so there is no stack walking and no extra work on the loop thread. The counts are logged to
+ * {@link Jvm#perf()} and reset every report interval.
+ * <p>
+ * Added to the loops of an {@link EventGroup} when {@code handler.sampler.us} is set. Samples are taken no more often
+ * than the monitor loop runs, see {@code monitor.interval}.
+ */
+public class HandlerSampler implements EventHandler {
+    static final long SAMPLE_INTERVAL_US = Jvm.getLong("handler.sampler.us", 0L);
+    static final long REPORT_INTERVAL_SECS = Jvm.getLong("handler.sampler.report.secs", 60L);
+
+    private final CoreEventLoop eventLoop;
+    private final long sampleIntervalNS;
+    private final long reportIntervalNS;
+    private EventHandler[] handlers = new EventHandler[8];
+    private long[] counts = new long[8];
+    private int size = 0;
+    private long idleSamples = 0;
+    private long nextSampleNS = 0;
+    private long nextReportNS = 0;
+
+    /**
+     * @param eventLoop        to sample
+     * @param sampleIntervalNS how often to sample
+     * @param reportIntervalNS how often to log and reset the counts, or 0 to never log
+     */
+    public HandlerSampler(@NotNull CoreEventLoop eventLoop, long sampleIntervalNS, long reportIntervalNS) {
+        this.eventLoop = eventLoop;
+        this.sampleIntervalNS = sampleIntervalNS;
+        this.reportIntervalNS = reportIntervalNS;
+    }
+
+    static boolean isEnabled() {
+        return SAMPLE_INTERVAL_US > 0;
+    }
+
+    static HandlerSampler forLoop(@NotNull CoreEventLoop eventLoop) {
+        return new HandlerSampler(eventLoop, SAMPLE_INTERVAL_US * 1000, REPORT_INTERVAL_SECS * 1_000_000_000L);
+    }
+
+    @Override
+    public boolean action() throws InvalidEventHandlerException {
+        if (eventLoop.isClosing())
+            throw InvalidEventHandlerException.reusable();
+        final long now = System.nanoTime();
+        if (now - nextSampleNS < 0)
+            return false;
+        nextSampleNS = now + sampleIntervalNS;
+        sample();
+
+        if (reportIntervalNS > 0) {
+            if (nextReportNS == 0) {
+                nextReportNS = now + reportIntervalNS;
+            } else if (now - nextReportNS >= 0) {
+                nextReportNS = now + reportIntervalNS;
+                if (Jvm.isPerfEnabled(getClass()))
+                    Jvm.perf().on(getClass(), toString());
+                reset();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes one sample
+     */
+    void sample() {
+        final EventHandler handler = eventLoop.currentHandler();
+        if (handler == null || eventLoop.loopStartNS() == CoreEventLoop.NOT_IN_A_LOOP) {
+            idleSamples++;
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (handlers[i] == handler) {
+                counts[i]++;
+                return;
+            }
+        }
+        if (size == handlers.length) {
+            handlers = Arrays.copyOf(handlers, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        handlers[size] = handler;
+        counts[size++] = 1;
+    }
+
+    /**
+     * @param handler to look up
+     * @return the number of samples in which the loop was running {@code handler} since the last reset
+     */
+    public long samples(@Nullable EventHandler handler) {
+        for (int i = 0; i < size; i++)
+            if (handlers[i] == handler)
+                return counts[i];
+        return 0;
+    }
+
+    /**
+     * @return the number of samples in which the loop was idle since the last reset
+     */
+    public long idleSamples() {
+        return idleSamples;
+    }
+
+    /**
+     * @return the number of samples since the last reset
+     */
+    public long totalSamples() {
+        long total = idleSamples;
+        for (int i = 0; i < size; i++)
+            total += counts[i];
+        return total;
+    }
+
+    /**
+     * Clears the counts, and the references to the handlers seen
+     */
+    public void reset() {
+        Arrays.fill(handlers, 0, size, null);
+        Arrays.fill(counts, 0, size, 0L);
+        size = 0;
+        idleSamples = 0;
+    }
+
+    @NotNull
+    @Override
+    public HandlerPriority priority() {
+        return HandlerPriority.MONITOR;
+    }
+
+    @Override
+    public String toString() {
+        final long total = totalSamples();
+        final StringBuilder sb = new StringBuilder("HandlerSampler<").append(eventLoop.name()).append(">: samples=").append(total);
+        if (total == 0)
+            return sb.toString();
+        sb.append(", idle=").append(idleSamples * 1000 / total / 10.0).append('%');
+        for (int i = 0; i < size; i++)
+            sb.append(", ").append(handlers[i]).append('=').append(counts[i] * 1000 / total / 10.0).append('%');
+        return sb.toString();
+    }
+}
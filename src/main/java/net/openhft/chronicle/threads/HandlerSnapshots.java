@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.EventHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+
+/**
+ * Takes and restores the snapshots of {@link SnapshotEventHandler}s for the event loops running them.
+ */
+enum HandlerSnapshots {
+    ; // none
+
+    static final String DIRECTORY = Jvm.getProperty("eventloop.snapshot.dir");
+
+    /**
+     * Restores the last snapshot of {@code handler}, if it has one, and invalidates it so it is not restored again.
+     */
+    static void restore(@NotNull EventHandler handler) {
+        restore(DIRECTORY, handler);
+    }
+
+    static void restore(@Nullable String directory, @NotNull EventHandler handler) {
+        final SnapshotEventHandler seh = snapshotHandler(directory, handler);
+        if (seh == null)
+            return;
+        final File file = fileFor(directory, seh);
+        if (!file.exists())
+            return;
+        final long start = System.nanoTime();
+        try {
+            final SnapshotRegion region = SnapshotRegion.forReading(file);
+            if (region == null)
+                return;
+            try {
+                seh.restore(region);
+            } finally {
+                region.invalidate();
+            }
+            Jvm.perf().on(HandlerSnapshots.class, "Restored " + region.limit() + " bytes for " + seh.snapshotName() + " in " + (System.nanoTime() - start) / 1000 + " us");
+        } catch (Throwable t) {
+            Jvm.warn().on(HandlerSnapshots.class, "Unable to restore the snapshot of " + seh.snapshotName() + " from " + file.getAbsolutePath(), t);
+        }
+    }
+
+    /**
+     * Takes a snapshot of {@code handler} if it is a {@link SnapshotEventHandler}.
+     */
+    static void snapshot(@NotNull EventHandler handler) {
+        snapshot(DIRECTORY, handler);
+    }
+
+    static void snapshot(@Nullable String directory, @NotNull EventHandler handler) {
+        final SnapshotEventHandler seh = snapshotHandler(directory, handler);
+        if (seh == null)
+            return;
+        final File file = fileFor(directory, seh);
+        final long start = System.nanoTime();
+        try {
+            final SnapshotRegion region = SnapshotRegion.forWriting(file, seh.snapshotCapacity());
+            seh.snapshot(region);
+            region.commit();
+            Jvm.perf().on(HandlerSnapshots.class, "Saved " + region.position() + " bytes for " + seh.snapshotName() + " in " + (System.nanoTime() - start) / 1000 + " us");
+        } catch (Throwable t) {
+            Jvm.warn().on(HandlerSnapshots.class, "Unable to save a snapshot of " + seh.snapshotName() + " to " + file.getAbsolutePath(), t);
+        }
+    }
+
+    @Nullable
+    private static SnapshotEventHandler snapshotHandler(String directory, EventHandler handler) {
+        if (directory == null || handler == null)
+            return null;
+        handler = BatchedHandlerAdapter.unwrap(handler);
+        return handler instanceof SnapshotEventHandler ? (SnapshotEventHandler) handler : null;
+    }
+
+    @NotNull
+    static File fileFor(@NotNull String directory, @NotNull SnapshotEventHandler handler) {
+        final File dir = new File(directory);
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory())
+            Jvm.warn().on(HandlerSnapshots.class, "Unable to create " + dir.getAbsolutePath());
+        return new File(dir, handler.snapshotName() + ".snapshot");
+    }
+}
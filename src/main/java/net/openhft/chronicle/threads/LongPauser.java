@@ -38,11 +38,11 @@ import static net.openhft.chronicle.threads.LongPauser.ToStringHelper.*;
  */
 public class LongPauser implements Pauser, TimingPauser {
     private static final String SHOW_PAUSES = Jvm.getProperty("pauses.show");
-    private final long minPauseTimeNS;
-    private final long maxPauseTimeNS;
+    final long minPauseTimeNS;
+    final long maxPauseTimeNS;
     private final AtomicBoolean pausing = new AtomicBoolean();
-    private final long minBusyNS;
-    private final long minYieldNS;
+    final long minBusyNS;
+    final long minYieldNS;
     private long firstPauseNS = Long.MAX_VALUE;
     private long pauseTimeNS;
     private long timePaused = 0;
@@ -50,7 +50,10 @@ public class LongPauser implements Pauser, TimingPauser {
     @Nullable
     private transient volatile Thread thread = null;
     private long yieldStart = 0;
+    private long spinStart = 0;
     private long pauseUntilNS = 0;
+    private final PauserStatistics statistics = new PauserStatistics();
+    private SpinStrategy spinStrategy = SpinStrategy.onSpinWait();
 
     /**
      * first it will busy wait, then it will yield, then sleep for a small amount of time, then
@@ -71,8 +74,21 @@ public class LongPauser implements Pauser, TimingPauser {
         pauseTimeNS = minPauseTimeNS;
     }
 
+    /**
+     * Sets how this pauser spins while busy waiting. The default is {@link SpinStrategy#onSpinWait()}
+     *
+     * @param spinStrategy to use, not shared with other pausers if it is stateful
+     * @return this
+     */
+    public LongPauser spinStrategy(@NotNull SpinStrategy spinStrategy) {
+        this.spinStrategy = spinStrategy;
+        return this;
+    }
+
     @Override
     public void reset() {
+        checkSpinTime();
+        spinStrategy.reset();
         if (yieldStart > 0) {
             checkYieldTime();
             countPaused++;
@@ -142,9 +158,13 @@ public class LongPauser implements Pauser, TimingPauser {
 
         // If the current time is within the minimum busy period, do a nanosecond pause and return
         if (now < firstPauseNS + minBusyNS) {
-            Jvm.nanoPause();
+            if (spinStart == 0)
+                spinStart = now;
+            statistics.spinCount++;
+            spinStrategy.spin();
             return;
         }
+        checkSpinTime();
 
         // If the current time is within the minimum yield period, yield the thread and return
         if (now < firstPauseNS + minYieldNS) {
@@ -175,13 +195,22 @@ public class LongPauser implements Pauser, TimingPauser {
         if (yieldStart > 0) {
             long time = System.nanoTime() - yieldStart;
             timePaused += time;
+            statistics.yieldNS += time;
             yieldStart = 0;
         }
     }
 
+    private void checkSpinTime() {
+        if (spinStart > 0) {
+            statistics.spinNS += System.nanoTime() - spinStart;
+            spinStart = 0;
+        }
+    }
+
     private void yield() {
         if (yieldStart == 0)
             yieldStart = System.nanoTime();
+        statistics.yieldCount++;
         Thread.yield();
     }
 
@@ -190,10 +219,27 @@ public class LongPauser implements Pauser, TimingPauser {
         thread = Thread.currentThread();
         pausing.set(true);
         if (!thread.isInterrupted())
-            LockSupport.parkNanos(delayNs);
+            park(delayNs);
         pausing.set(false);
         long time = System.nanoTime() - start;
         timePaused += time;
+        statistics.addPark(1, time, Math.max(0, time - delayNs));
+    }
+
+    /**
+     * Blocks the current thread for up to {@code delayNs}, returning early if {@link #unpause()} is called.
+     *
+     * @param delayNs the time to block for in nanoseconds
+     */
+    void park(long delayNs) {
+        LockSupport.parkNanos(delayNs);
+    }
+
+    /**
+     * @return true from just before this pauser parks until just after it wakes
+     */
+    boolean isPausing() {
+        return pausing.get();
     }
 
     @Override
@@ -223,6 +269,11 @@ public class LongPauser implements Pauser, TimingPauser {
         return countPaused;
     }
 
+    @Override
+    public PauserStatistics phaseStatistics(@NotNull PauserStatistics stats) {
+        return stats.copyFrom(statistics);
+    }
+
     /**
      * Provides a human-readable description of the pauser's configuration.
      *
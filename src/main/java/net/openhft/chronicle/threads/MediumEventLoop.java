@@ -31,6 +31,9 @@ import net.openhft.chronicle.threads.internal.EventLoopUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.LockSupport;
@@ -46,6 +49,8 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                     EnumSet.of(HandlerPriority.HIGH,
                             HandlerPriority.MEDIUM));
     public static final int NO_CPU = -1;
+    static final PendingHandlerPolicy PENDING_HANDLER_POLICY =
+            PendingHandlerPolicy.valueOf(Jvm.getProperty("eventloop.pending.handlers.policy", PendingHandlerPolicy.OVERFLOW.name()));
 
     protected static final EventHandler[] NO_EVENT_HANDLERS = {};
     /**
@@ -59,7 +64,22 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     @NotNull
     protected transient final ExecutorService service;
     protected final List<EventHandler> mediumHandlers = new CopyOnWriteArrayList<>();
+    /**
+     * Unbounded overflow for {@link #pendingHandlers} under {@link PendingHandlerPolicy#OVERFLOW}, drained along with it.
+     *
+     * @deprecated handlers added to a running loop wait in {@link #pendingHandlers}
+     */
+    @Deprecated(/* Remove in x.28 */)
     protected final ConcurrentLinkedQueue<EventHandler> newHandlers = new ConcurrentLinkedQueue<>();
+    protected final PendingHandlerQueue pendingHandlers = new PendingHandlerQueue(PendingHandlerQueue.DEFAULT_CAPACITY);
+    // when the oldest handler in newHandlers was added, or Long.MAX_VALUE if added directly to it
+    private volatile long oldestOverflowNS = Long.MAX_VALUE;
+    // handlers to move to another loop, only added to while the loop is running handlers
+    private final Queue<HandlerTransfer> transfers = new ConcurrentLinkedQueue<>();
+    private PendingHandlerPolicy pendingHandlerPolicy = PENDING_HANDLER_POLICY;
+    @Nullable
+    private EventLoop fallbackLoop;
+    private long acceptHandlerMaxLatencyNS = EventLoopUtil.ACCEPT_HANDLER_MAX_LATENCY_NS;
     protected final Pauser pauser;
     protected final boolean daemon;
     private final String binding;
@@ -69,6 +89,13 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     protected EventHandler highHandler = EventHandlers.NOOP;
 
     protected volatile long loopStartNS;
+    private final CountDownLatch loopFinished = new CountDownLatch(1);
+    // set by requestStop() so the loop finishes without waiting for stop()
+    private volatile boolean stopRequested = false;
+    final BatchedHandlerAdapter.Budget batchBudget = new BatchedHandlerAdapter.Budget();
+    // deliberately not volatile, only sampled by the monitor thread
+    @Nullable
+    protected EventHandler currentHandler = null;
     @Nullable
     protected volatile Thread thread = null;
 
@@ -91,7 +118,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
         this.daemon = daemon;
         this.binding = binding;
         loopStartNS = NOT_IN_A_LOOP;
-        service = Executors.newSingleThreadExecutor(new NamedThreadFactory(name, daemon, null, true));
+        service = new NamedThreadFactory(name, daemon, null, true).newFixedThreadPool(1);
 
         singleThreadedCheckDisabled(true);
     }
@@ -137,7 +164,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 ", service=" + service +
                 ", highHandler=" + highHandler +
                 ", mediumHandlers=" + mediumHandlers +
-                ", newHandlers=" + newHandlers +
+                ", pendingHandlers=" + pendingHandlers +
                 ", pauser=" + pauser +
                 '}';
     }
@@ -171,6 +198,15 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
         stopEventLoopThread();
     }
 
+    @Override
+    protected boolean requestStop() {
+        if (!isStarted())
+            return false;
+        stopRequested = true;
+        unpause();
+        return true;
+    }
+
     private void stopEventLoopThread() {
         synchronized (startStopMutex) {
             unpause();
@@ -198,6 +234,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
      * Add a handler in the appropriate way given the thread adding the handler and the state of the loop
      */
     protected void addHandlerInternal(@NotNull EventHandler handler) {
+        handler = BatchedHandlerAdapter.wrap(handler, batchBudget);
         if (thread == null) {
             if (!addHandlerBeforeStart(handler)) {
                 addHandlerAfterStart(handler);
@@ -227,24 +264,115 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     /**
      * This is the code executed when a non-event-loop thread wants to add a handler on a started loop
      */
+    @SuppressWarnings("fallthrough")
     private void addHandlerAfterStart(@NotNull EventHandler handler) {
-        if (isStopped()) {
+        if (isStopped() || stopRequested) {
             if (Jvm.isDebugEnabled(MediumEventLoop.class)) {
                 Jvm.debug().on(MediumEventLoop.class, "Aborted adding handler because event loop was stopped, handler=" + handler);
             }
             return;
         }
 
-        newHandlers.offer(handler);
+        switch (pendingHandlerPolicy) {
+            case OVERFLOW:
+                // once one has overflowed, later handlers follow it so they are accepted in the order added
+                if (!newHandlers.isEmpty() || !pendingHandlers.offer(handler)) {
+                    if (newHandlers.isEmpty())
+                        oldestOverflowNS = System.nanoTime();
+                    newHandlers.add(handler);
+                }
+                break;
+
+            case BLOCK:
+                if (!offerPendingHandler(handler))
+                    return;
+                break;
+
+            case FALLBACK:
+                if (fallbackLoop != null) {
+                    if (!pendingHandlers.offer(handler))
+                        fallbackLoop.addHandler(handler);
+                    break;
+                }
+                // fall through to FAIL_FAST
+
+            case FAIL_FAST:
+            default:
+                if (!pendingHandlers.offer(handler))
+                    throw new RejectedExecutionException(name + ": too many pending handlers, capacity=" + pendingHandlers.capacity() + ", handler=" + handler);
+                break;
+        }
 
         pauser.unpause();
     }
 
+    /**
+     * Waits for space in the pending handlers, giving up if the loop stops.
+     */
+    private boolean offerPendingHandler(@NotNull EventHandler handler) {
+        try {
+            while (!pendingHandlers.offer(handler, 10, TimeUnit.MILLISECONDS)) {
+                pauser.unpause();
+                if (isStopped() || stopRequested) {
+                    if (Jvm.isDebugEnabled(MediumEventLoop.class)) {
+                        Jvm.debug().on(MediumEventLoop.class, "Aborted adding handler because event loop was stopped, handler=" + handler);
+                    }
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(name + ": interrupted waiting to add " + handler, e);
+        }
+    }
+
+    /**
+     * Sets what {@link #addHandler(EventHandler)} does when this loop is running and already has
+     * {@link PendingHandlerQueue#DEFAULT_CAPACITY} handlers waiting to be accepted.
+     *
+     * @param pendingHandlerPolicy what to do when full
+     * @param fallbackLoop         the loop to add handlers to for {@link PendingHandlerPolicy#FALLBACK}
+     * @return this
+     */
+    public MediumEventLoop pendingHandlerPolicy(@NotNull PendingHandlerPolicy pendingHandlerPolicy, @Nullable EventLoop fallbackLoop) {
+        this.pendingHandlerPolicy = pendingHandlerPolicy;
+        this.fallbackLoop = fallbackLoop;
+        return this;
+    }
+
+    /**
+     * Sets how long a handler added while this loop is busy can wait before the loop accepts it. The loop checks
+     * after each iteration, so a handler can wait up to this plus the time of one iteration.
+     *
+     * @param maxLatency the maximum time to wait, zero to accept after every busy iteration
+     * @param timeUnit   of maxLatency
+     * @return this
+     */
+    public MediumEventLoop acceptHandlerMaxLatency(long maxLatency, @NotNull TimeUnit timeUnit) {
+        this.acceptHandlerMaxLatencyNS = timeUnit.toNanos(maxLatency);
+        return this;
+    }
+
+    /**
+     * @return the handlers added while running, which the loop is yet to accept, with the depth and accept latency
+     */
+    @NotNull
+    public PendingHandlerQueue pendingHandlers() {
+        return pendingHandlers;
+    }
+
     @Override
     public long loopStartNS() {
         return loopStartNS;
     }
 
+    @Nullable
+    @Override
+    public EventHandler currentHandler() {
+        return currentHandler;
+    }
+
     @Override
     @HotMethod
     @SuppressWarnings("try")
@@ -266,8 +394,14 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 }
                 // otherwise ignore, already closed
             } finally {
-                loopFinishedAllHandlers();
-                loopStartNS = NOT_IN_A_LOOP;
+                try {
+                    loopFinishedAllHandlers();
+                } finally {
+                    loopStartNS = NOT_IN_A_LOOP;
+                    do {
+                        runTransfers(false);
+                    } while (!countDownUnlessTransfers());
+                }
             }
         } catch (Throwable e) {
             Jvm.warn().on(getClass(), hasBeen("terminated due to exception"), e);
@@ -275,8 +409,18 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
         }
     }
 
+    private boolean countDownUnlessTransfers() {
+        synchronized (addHandlerMutex) {
+            if (!transfers.isEmpty())
+                return false;
+            loopFinished.countDown();
+            loopTerminated();
+            return true;
+        }
+    }
+
     protected void loopStartedAllHandlers() {
-        if (loopStartedCall(this, highHandler)) {
+        if (restoreAndLoopStartedCall(this, highHandler)) {
             removeHighHandler();
         }
 
@@ -287,7 +431,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     protected void loopStartedForHandlerList(@NotNull List<EventHandler> eventHandlerList) {
         List<EventHandler> removeHandlers = new ArrayList<>();
         for (EventHandler handler : eventHandlerList) {
-            if (loopStartedCall(this, handler)) {
+            if (restoreAndLoopStartedCall(this, handler)) {
                 // iterator.remove() is not supported.
                 removeHandlers.add(handler);
             }
@@ -300,22 +444,28 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     }
 
     protected void loopFinishedAllHandlers() {
-        loopFinishedQuietly(highHandler);
+        snapshotAndLoopFinishedQuietly(highHandler);
         if (!mediumHandlers.isEmpty())
-            mediumHandlers.forEach(Threads::loopFinishedQuietly);
+            mediumHandlers.forEach(Threads::snapshotAndLoopFinishedQuietly);
+        pendingHandlers.forEach(eventHandler -> {
+                    Jvm.startup().on(getClass(), "Handler in pendingHandlers was not accepted before loop finished " + eventHandler);
+                    loopFinishedQuietly(eventHandler);
+                });
         newHandlers.forEach(eventHandler -> {
-                    Jvm.startup().on(getClass(), "Handler in newHandler was not accepted before loop finished " + eventHandler);
+                    Jvm.startup().on(getClass(), "Handler in newHandlers was not accepted before loop finished " + eventHandler);
                     loopFinishedQuietly(eventHandler);
                 });
     }
 
     private void runLoop() {
-        int acceptHandlerModCount = EventLoopUtil.ACCEPT_HANDLER_MOD_COUNT;
         long lastTimerNS = 0;
-        while (isStarted()) {
+        while (isStarted() && !stopRequested) {
             throwExceptionIfClosed();
 
             loopStartNS = System.nanoTime();
+            batchBudget.reset();
+            if (!transfers.isEmpty())
+                runTransfers(true);
             boolean busy =
                     highHandler == EventHandlers.NOOP
                             ? runAllMediumHandler()
@@ -329,13 +479,12 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 pauser.reset();
                 /*
                  * This is used for preventing starvation for new event handlers.
-                 * Each modulo, potentially new event handlers are added even though
-                 * there might be other handlers that are busy.
+                 * Once the oldest has waited long enough, new event handlers are added
+                 * even though there might be other handlers that are busy.
                  */
-                if (EventLoopUtil.IS_ACCEPT_HANDLER_MOD_COUNT && --acceptHandlerModCount <= 0) {
+                final long oldestPendingNS = oldestPendingNS();
+                if (oldestPendingNS != Long.MAX_VALUE && loopStartNS - oldestPendingNS >= acceptHandlerMaxLatencyNS)
                     acceptNewHandlers();
-                    acceptHandlerModCount = EventLoopUtil.ACCEPT_HANDLER_MOD_COUNT; // Re-arm
-                }
             } else {
                 if (acceptNewHandlers())
                     continue;
@@ -343,11 +492,25 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 runDaemonHandlers();
                 // indicate the iteration is complete
                 loopStartNS = NOT_IN_A_LOOP;
+                currentHandler = null;
                 pauser.pause();
             }
         }
     }
 
+    /**
+     * Handlers only overflow once {@link #pendingHandlers} is full, and none are added to it while any have overflowed,
+     * so the pending handlers are always older than those which overflowed.
+     *
+     * @return the {@link System#nanoTime()} the oldest handler waiting to be accepted was added, or {@link Long#MAX_VALUE} if unknown
+     */
+    private long oldestPendingNS() {
+        final long oldestPendingNS = pendingHandlers.oldestEnqueuedNS();
+        if (oldestPendingNS != Long.MAX_VALUE || newHandlers.isEmpty())
+            return oldestPendingNS;
+        return oldestOverflowNS;
+    }
+
     protected long timerIntervalMS() {
         return Long.MAX_VALUE / 2;
     }
@@ -375,6 +538,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 default:
                     for (int i = handlers.length - 1; i >= 4; i--) {
                         try {
+                            currentHandler = handlers[i];
                             busy |= handlers[i].action();
                         } catch (Exception e) {
                             handleExceptionMediumHandler(handlers[i], e);
@@ -384,6 +548,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
 
                 case 4:
                     try {
+                        currentHandler = handlers[3];
                         busy |= handlers[3].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[3], e);
@@ -391,6 +556,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                     // fall through
                 case 3:
                     try {
+                        currentHandler = handlers[2];
                         busy |= handlers[2].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[2], e);
@@ -398,6 +564,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                     // fall through
                 case 2:
                     try {
+                        currentHandler = handlers[1];
                         busy |= handlers[1].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[1], e);
@@ -405,6 +572,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                     // fall through
                 case 1: {
                     try {
+                        currentHandler = handlers[0];
                         busy |= handlers[0].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[0], e);
@@ -435,6 +603,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                     for (int i = handlers.length - 1; i >= 4; i--) {
                         busy |= callHighHandler();
                         try {
+                            currentHandler = handlers[i];
                             busy |= handlers[i].action();
                         } catch (Exception e) {
                             handleExceptionMediumHandler(handlers[i], e);
@@ -445,6 +614,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 case 4:
                     busy |= callHighHandler();
                     try {
+                        currentHandler = handlers[3];
                         busy |= handlers[3].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[3], e);
@@ -453,6 +623,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 case 3:
                     busy |= callHighHandler();
                     try {
+                        currentHandler = handlers[2];
                         busy |= handlers[2].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[2], e);
@@ -461,6 +632,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 case 2:
                     busy |= callHighHandler();
                     try {
+                        currentHandler = handlers[1];
                         busy |= handlers[1].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[1], e);
@@ -469,6 +641,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
                 case 1: {
                     busy |= callHighHandler();
                     try {
+                        currentHandler = handlers[0];
                         busy |= handlers[0].action();
                     } catch (Exception e) {
                         handleExceptionMediumHandler(handlers[0], e);
@@ -490,6 +663,7 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
 
     private boolean callHighHandler() {
         try {
+            currentHandler = highHandler;
             return highHandler.action();
         } catch (Exception e) {
             if (handle(this, highHandler, e)) {
@@ -533,6 +707,11 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     private boolean acceptNewHandlers() {
         boolean result = false;
         EventHandler handler;
+        while ((handler = pendingHandlers.poll()) != null) {
+            addNewHandler(handler);
+            result = true;
+        }
+        // handlers which overflowed after those pending, or were added directly by a subclass
         while ((handler = newHandlers.poll()) != null) {
             addNewHandler(handler);
             result = true;
@@ -589,6 +768,176 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
         }
     }
 
+    /**
+     * @return true if handlers added from other threads are waiting to be accepted by this loop
+     */
+    boolean hasPendingHandlers() {
+        return !pendingHandlers.isEmpty() || !newHandlers.isEmpty();
+    }
+
+    /**
+     * Registers a channel so that this loop wakes as soon as it is ready, rather than waiting out its pause.
+     * The loop must have been created with a {@link SelectorPauser}, e.g. {@link Pauser#selecting()}.
+     *
+     * @param channel a non-blocking channel, best registered from {@code loopStarted()}
+     * @param ops     the operations to wake for, e.g. {@link SelectionKey#OP_READ}
+     * @return the key, to be cancelled when the channel is no longer of interest
+     * @throws ClosedChannelException if the channel is closed
+     * @throws IllegalStateException  if this loop's pauser is not a {@link SelectorPauser}
+     */
+    @NotNull
+    public SelectionKey registerChannel(@NotNull final SelectableChannel channel, final int ops) throws ClosedChannelException {
+        throwExceptionIfClosed();
+        if (!(pauser instanceof SelectorPauser))
+            throw new IllegalStateException(name + " must use a SelectorPauser to register channels, not " + pauser);
+        return ((SelectorPauser) pauser).register(channel, ops);
+    }
+
+    /**
+     * Moves a handler from this loop to {@code target} without closing it, e.g. to rebalance the load between loops.
+     * <p>
+     * If this loop is running, the handler is removed between calls to its {@code action()} and {@code loopFinished()}
+     * is called on this loop's thread. It is then added to {@code target} as usual, which calls {@code loopStarted()}
+     * on its own thread. So {@code action()} is never called by both loops at once, and nothing queued for the handler
+     * is lost. If this loop is not running, a handler it has yet to accept is found as well.
+     * The handler is closed if it cannot be added to {@code target}.
+     *
+     * @param handler to move, as it was added to this loop
+     * @param target  to add it to
+     * @return a future completed with true once the handler has been added to {@code target},
+     * or false if it was not found on this loop
+     */
+    @NotNull
+    public CompletableFuture<Boolean> transfer(@NotNull final EventHandler handler, @NotNull final EventLoop target) {
+        throwExceptionIfClosed();
+        if (target == this)
+            throw new IllegalArgumentException("Cannot transfer " + handler + " to the same loop " + name);
+        final HandlerTransfer transfer = new HandlerTransfer(handler, target);
+        final EventHandler detached;
+        synchronized (addHandlerMutex) {
+            if (thread != null && loopFinished.getCount() > 0) {
+                // even when called by this loop, as the handler may be in the middle of its action()
+                transfers.add(transfer);
+                pauser.unpause();
+                return transfer.future;
+            }
+            // not running handlers, either not started or loopFinished() has been called
+            final EventHandler accepted = detachHandler(handler);
+            detached = accepted != null ? accepted : detachPendingHandler(handler);
+        }
+        // added to the target without holding the mutex, in case it is transferring to this loop
+        transfer.complete(detached);
+        return transfer.future;
+    }
+
+    private void runTransfers(boolean running) {
+        if (running)
+            acceptNewHandlers();
+        HandlerTransfer transfer;
+        while ((transfer = transfers.poll()) != null) {
+            final EventHandler detached = detachHandler(transfer.handler);
+            if (detached != null && running)
+                loopFinishedQuietly(detached);
+            transfer.complete(detached);
+        }
+    }
+
+    /**
+     * Removes a handler without finishing or closing it. Called by the event loop thread, or when it is not running handlers.
+     *
+     * @return the handler as it was added, or null if it was not found
+     */
+    @Nullable
+    protected EventHandler detachHandler(@NotNull final EventHandler handler) {
+        if (highHandler != EventHandlers.NOOP && BatchedHandlerAdapter.unwrap(highHandler).equals(handler)) {
+            final EventHandler detached = BatchedHandlerAdapter.unwrap(highHandler);
+            highHandler = EventHandlers.NOOP;
+            return detached;
+        }
+        return detachHandler(handler, mediumHandlers);
+    }
+
+    /**
+     * Removes a handler which was added but not yet accepted, e.g. as the loop stopped before accepting it.
+     *
+     * @return the handler as it was added, or null if it was not found
+     */
+    @Nullable
+    private EventHandler detachPendingHandler(@NotNull final EventHandler handler) {
+        final EventHandler pending = pendingHandlers.remove(eh -> BatchedHandlerAdapter.unwrap(eh).equals(handler));
+        if (pending != null)
+            return BatchedHandlerAdapter.unwrap(pending);
+        for (EventHandler eh : newHandlers) {
+            if (BatchedHandlerAdapter.unwrap(eh).equals(handler) && newHandlers.remove(eh))
+                return BatchedHandlerAdapter.unwrap(eh);
+        }
+        return null;
+    }
+
+    @Nullable
+    protected EventHandler detachHandler(@NotNull final EventHandler handler, @NotNull final List<EventHandler> handlers) {
+        for (EventHandler eh : handlers) {
+            final EventHandler unwrapped = BatchedHandlerAdapter.unwrap(eh);
+            if (unwrapped.equals(handler)) {
+                handlers.remove(eh);
+                if (handlers == mediumHandlers)
+                    updateMediumHandlersArray();
+                return unwrapped;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes every handler from this stopped loop without finishing or closing them, so they can be added to another loop.
+     *
+     * @return the handlers removed
+     */
+    List<EventHandler> detachHandlers() {
+        if (isAlive())
+            throw new IllegalStateException(name + " must be stopped before detaching its handlers");
+        final List<EventHandler> detached = new ArrayList<>();
+        if (highHandler != EventHandlers.NOOP)
+            detached.add(highHandler);
+        highHandler = EventHandlers.NOOP;
+        detached.addAll(mediumHandlers);
+        mediumHandlers.clear();
+        updateMediumHandlersArray();
+        EventHandler handler;
+        while ((handler = pendingHandlers.poll()) != null)
+            detached.add(handler);
+        while ((handler = newHandlers.poll()) != null)
+            detached.add(handler);
+        detached.replaceAll(BatchedHandlerAdapter::unwrap);
+        return detached;
+    }
+
+    static final class HandlerTransfer {
+        final EventHandler handler;
+        final EventLoop target;
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        HandlerTransfer(EventHandler handler, EventLoop target) {
+            this.handler = handler;
+            this.target = target;
+        }
+
+        void complete(@Nullable EventHandler detached) {
+            if (detached == null) {
+                future.complete(false);
+                return;
+            }
+            try {
+                target.addHandler(detached);
+                future.complete(true);
+            } catch (Throwable t) {
+                Jvm.warn().on(MediumEventLoop.class, "Unable to transfer " + detached + " to " + target + ", closing it", t);
+                Closeable.closeQuietly(detached);
+                future.completeExceptionally(t);
+            }
+        }
+    }
+
     /**
      * This check/assignment needs to be atomic
      */
@@ -634,8 +983,12 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
     protected void closeAllHandlers() {
         Closeable.closeQuietly(highHandler);
         closeAll(mediumHandlers);
+        pendingHandlers.forEach(eventHandler -> {
+                    Jvm.startup().on(getClass(), "Handler in pendingHandlers was not accepted before close " + eventHandler);
+                    Closeable.closeQuietly(eventHandler);
+                });
         newHandlers.forEach(eventHandler -> {
-                    Jvm.startup().on(getClass(), "Handler in newHandler was not accepted before close " + eventHandler);
+                    Jvm.startup().on(getClass(), "Handler in newHandlers was not accepted before close " + eventHandler);
                     Closeable.closeQuietly(eventHandler);
                 });
     }
@@ -667,9 +1020,12 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
             super.performClose();
         } finally {
             closeAllHandlers();
+            if (pauser instanceof SelectorPauser)
+                ((SelectorPauser) pauser).close();
             highHandler = EventHandlers.NOOP;
             mediumHandlers.clear();
             updateMediumHandlersArray();
+            pendingHandlers.clear();
             newHandlers.clear();
         }
     }
@@ -679,31 +1035,40 @@ public class MediumEventLoop extends AbstractLifecycleEventLoop implements CoreE
         Threads.shutdown(service, daemon);
         if (thread != null && thread != Thread.currentThread()) {
             long startTimeMillis = System.currentTimeMillis();
-            long waitUntilMs = startTimeMillis;
             thread.interrupt();
 
-            for (int i = 1; i <= 50; i++) {
-                if (!thread.isAlive())
-                    break;
-                // we do this loop below to protect from Jvm.pause not pausing for as long as it should
-                waitUntilMs += i;
-                while (System.currentTimeMillis() < waitUntilMs)
-                    Jvm.pause(i);
-
-                if (i == 35 || i == 50) {
-                    final StringBuilder sb = new StringBuilder();
-                    long ms = System.currentTimeMillis() - startTimeMillis;
-                    sb.append(name).append(": Shutting down thread is executing after ").
-                            append(ms).append("ms ").append(thread)
-                            .append(", " + "handlerCount=").append(nonDaemonHandlerCount());
-                    Jvm.trimStackTrace(sb, thread.getStackTrace());
-                    Jvm.warn().on(getClass(), sb.toString());
-                    dumpRunningHandlers();
-                }
+            // the loop thread signals once all handlers have been told the loop finished
+            if (!awaitLoopFinished(630)) {
+                warnStillRunning(startTimeMillis);
+                if (!awaitLoopFinished(645))
+                    warnStillRunning(startTimeMillis);
             }
         }
     }
 
+    private boolean awaitLoopFinished(long millis) {
+        try {
+            return loopFinished.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loopFinished.getCount() == 0;
+        }
+    }
+
+    private void warnStillRunning(long startTimeMillis) {
+        final Thread thread = this.thread;
+        if (thread == null)
+            return;
+        final StringBuilder sb = new StringBuilder();
+        long ms = System.currentTimeMillis() - startTimeMillis;
+        sb.append(name).append(": Shutting down thread is executing after ").
+                append(ms).append("ms ").append(thread)
+                .append(", " + "handlerCount=").append(nonDaemonHandlerCount());
+        Jvm.trimStackTrace(sb, thread.getStackTrace());
+        Jvm.warn().on(getClass(), sb.toString());
+        dumpRunningHandlers();
+    }
+
     @Override
     public boolean runsInsideCoreLoop() {
         return isRunningOnThread(Thread.currentThread()); // false if called before run()
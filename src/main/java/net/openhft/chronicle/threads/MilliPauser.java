@@ -37,6 +37,7 @@ public class MilliPauser implements Pauser {
     private long pauseUntilMS = 0;
     @Nullable
     private transient volatile Thread thread = null;
+    private final PauserStatistics statistics = new PauserStatistics();
 
     /**
      * Constructs a new {@code MilliPauser} with a specified pause time in milliseconds.
@@ -140,6 +141,7 @@ public class MilliPauser implements Pauser {
         long time = System.nanoTime() - start;
         timePaused += time;
         countPaused++;
+        statistics.addPark(1, time, Math.max(0, time - delayMS * 1_000_000L));
     }
 
     /**
@@ -172,6 +174,11 @@ public class MilliPauser implements Pauser {
         return countPaused;
     }
 
+    @Override
+    public PauserStatistics phaseStatistics(@NotNull PauserStatistics stats) {
+        return stats.copyFrom(statistics);
+    }
+
     /**
      * Provides a string representation of this pauser, identifying the configured pause time.
      *
@@ -30,7 +30,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import static net.openhft.chronicle.threads.Threads.*;
 
@@ -52,8 +51,7 @@ public class MonitorEventLoop extends AbstractLifecycleEventLoop implements Runn
         super(name + (withSlash(parent == null ? "" : parent.name())) + "event~loop~monitor");
         this.parent = parent;
         this.pauser = pauser;
-        service = Executors.newSingleThreadExecutor(
-                new NamedThreadFactory(name, true, null, true));
+        service = new NamedThreadFactory(name, true, null, true).newFixedThreadPool(1);
     }
 
     @Override
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The mount points of this process as read from {@code /proc/self/mountinfo}, used to map files to the device they
+ * are stored on without asking the file system for each file.
+ */
+final class MountTable {
+    static final Path MOUNT_INFO = Paths.get("/proc/self/mountinfo");
+
+    // longest mount point first, so the first match is the most specific
+    private final Mount[] mounts;
+
+    private MountTable(Mount[] mounts) {
+        this.mounts = mounts;
+    }
+
+    static boolean isAvailable() {
+        return Files.isReadable(MOUNT_INFO);
+    }
+
+    static MountTable read() throws IOException {
+        return parse(Files.readAllLines(MOUNT_INFO));
+    }
+
+    /**
+     * Parses lines in the format of {@code /proc/[pid]/mountinfo}, e.g.
+     * <pre>
+     * 36 35 98:0 /mnt1 /mnt2 rw,noatime master:1 - ext3 /dev/root rw,errors=continue
+     * </pre>
+     * where the third field is the device and the fifth the mount point. Lines which can't be parsed are ignored.
+     */
+    static MountTable parse(@NotNull List<String> lines) {
+        final List<Mount> mounts = new ArrayList<>();
+        for (String line : lines) {
+            final String[] fields = line.split(" ");
+            if (fields.length < 5 || fields[2].indexOf(':') < 0)
+                continue;
+            mounts.add(new Mount(fields[2], unescape(fields[4])));
+        }
+        mounts.sort(Comparator.comparingInt((Mount m) -> m.mountPoint.length()).reversed());
+        return new MountTable(mounts.toArray(new Mount[0]));
+    }
+
+    /**
+     * Spaces, tabs, newlines and backslashes in mount points are escaped as octal e.g. {@code \040}
+     */
+    static String unescape(String field) {
+        if (field.indexOf('\\') < 0)
+            return field;
+        final StringBuilder sb = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            final char ch = field.charAt(i);
+            if (ch == '\\' && i + 3 < field.length() && isOctal(field, i + 1)) {
+                sb.append((char) Integer.parseInt(field.substring(i + 1, i + 4), 8));
+                i += 3;
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isOctal(String field, int from) {
+        for (int i = from; i < from + 3; i++) {
+            final char ch = field.charAt(i);
+            if (ch < '0' || ch > '7')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param absolutePath a normalised absolute path
+     * @return the mount it is stored on, or null if none matches
+     */
+    @Nullable
+    Mount mountFor(@NotNull String absolutePath) {
+        for (Mount mount : mounts) {
+            final String mountPoint = mount.mountPoint;
+            if (!absolutePath.startsWith(mountPoint))
+                continue;
+            if (absolutePath.length() == mountPoint.length()
+                    || mountPoint.endsWith("/")
+                    || absolutePath.charAt(mountPoint.length()) == '/')
+                return mount;
+        }
+        return null;
+    }
+
+    int size() {
+        return mounts.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MountTable && Arrays.equals(mounts, ((MountTable) o).mounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(mounts);
+    }
+
+    static final class Mount {
+        final String device;
+        final String mountPoint;
+
+        Mount(String device, String mountPoint) {
+            this.device = device;
+            this.mountPoint = mountPoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Mount))
+                return false;
+            final Mount mount = (Mount) o;
+            return device.equals(mount.device) && mountPoint.equals(mount.mountPoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return device.hashCode() * 31 + mountPoint.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return mountPoint + " (" + device + ")";
+        }
+    }
+}
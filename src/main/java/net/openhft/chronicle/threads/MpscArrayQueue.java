@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue for many producers and a single consumer which doesn't allocate per element.
+ * <p>
+ * Producers claim a slot by advancing the tail, then publish the element into it. The consumer treats a claimed but
+ * not yet published slot as empty, so {@link #poll()} may briefly return null while an {@link #offer} is in progress.
+ */
+final class MpscArrayQueue<E> {
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    MpscArrayQueue(int capacity) {
+        if (capacity < 2)
+            throw new IllegalArgumentException("capacity must be at least 2, was " + capacity);
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * May be called by any thread
+     *
+     * @param e to add
+     * @return false if the queue is full
+     */
+    boolean offer(@NotNull E e) {
+        final int capacity = mask + 1;
+        while (true) {
+            final long t = tail.get();
+            if (t - head.get() >= capacity)
+                return false;
+            if (tail.compareAndSet(t, t + 1)) {
+                buffer.lazySet((int) t & mask, e);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Must only be called by the consumer
+     *
+     * @return the next element or null if none is available
+     */
+    @Nullable
+    E poll() {
+        final long h = head.get();
+        final int index = (int) h & mask;
+        final E e = buffer.get(index);
+        if (e == null)
+            return null;
+        buffer.lazySet(index, null);
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -23,9 +23,18 @@ import net.openhft.chronicle.core.threads.CleaningThread;
 import net.openhft.chronicle.core.threads.ThreadDump;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.ThreadFactory;
+import java.util.Set;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+/**
+ * Names, and keeps track of, the threads it creates.
+ * <p>
+ * Executors created via {@link #newFixedThreadPool(int)} etc. track their own threads, so they can be found by
+ * {@link Threads#unpark(ExecutorService)} and {@link Threads#interrupt(ExecutorService)} without reflection, even when
+ * this factory is shared by several executors.
+ */
 public class NamedThreadFactory extends ThreadGroup implements ThreadFactory {
     private final AtomicInteger id = new AtomicInteger();
     private final String nameShadow;
@@ -33,6 +42,8 @@ public class NamedThreadFactory extends ThreadGroup implements ThreadFactory {
     private final Integer priority;
     private final StackTrace createdHere;
     private final boolean inEventLoop;
+    // threads created which haven't finished running
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
 
     public NamedThreadFactory(String name) {
         this(name, null, null);
@@ -60,7 +71,8 @@ public class NamedThreadFactory extends ThreadGroup implements ThreadFactory {
     public Thread newThread(@NotNull Runnable r) {
         final int idSnapshot = this.id.getAndIncrement();
         final String nameN = Threads.threadGroupPrefix() + (idSnapshot == 0 ? this.nameShadow : (this.nameShadow + '-' + idSnapshot));
-        Thread t = new CleaningThread(r, nameN, inEventLoop);
+        Thread t = new CleaningThread(untrackOnExit(r), nameN, inEventLoop);
+        threads.add(t);
         ThreadDump.add(t, createdHere);
         if (daemonShadow != null)
             t.setDaemon(daemonShadow);
@@ -77,4 +89,115 @@ public class NamedThreadFactory extends ThreadGroup implements ThreadFactory {
                 thread.interrupt();
         }
     }
+
+    private Runnable untrackOnExit(Runnable r) {
+        return () -> {
+            try {
+                r.run();
+            } finally {
+                threads.remove(Thread.currentThread());
+            }
+        };
+    }
+
+    /**
+     * Calls {@code consumer} for each thread created which hasn't terminated, without locking.
+     *
+     * @param consumer to call
+     */
+    public void forEachThread(@NotNull Consumer<Thread> consumer) {
+        for (Thread thread : threads) {
+            if (thread.getState() != Thread.State.TERMINATED)
+                consumer.accept(thread);
+        }
+    }
+
+    /**
+     * @param threads in the pool
+     * @return a pool of a fixed number of threads from this factory, as {@link Executors#newFixedThreadPool(int, ThreadFactory)}
+     */
+    @NotNull
+    public ExecutorService newFixedThreadPool(int threads) {
+        return new TrackedThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new PoolThreads());
+    }
+
+    /**
+     * @return a pool of threads from this factory created as needed, as {@link Executors#newCachedThreadPool(ThreadFactory)}
+     */
+    @NotNull
+    public ExecutorService newCachedThreadPool() {
+        return new TrackedThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new PoolThreads());
+    }
+
+    /**
+     * @return a scheduled executor with a thread from this factory, as {@link Executors#newSingleThreadScheduledExecutor(ThreadFactory)}
+     */
+    @NotNull
+    public ScheduledExecutorService newSingleThreadScheduledExecutor() {
+        return new TrackedScheduledThreadPoolExecutor(1, new PoolThreads());
+    }
+
+    /**
+     * An executor created by a {@link NamedThreadFactory}, which knows which of its threads are its own.
+     */
+    interface TrackedExecutor {
+        void forEachThread(@NotNull Consumer<Thread> consumer);
+    }
+
+    /**
+     * Creates the threads of one executor via this factory, keeping track of those which haven't finished running.
+     */
+    private final class PoolThreads implements ThreadFactory {
+        private final Set<Thread> poolThreads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        @NotNull
+        public Thread newThread(@NotNull Runnable r) {
+            final Thread t = NamedThreadFactory.this.newThread(() -> {
+                try {
+                    r.run();
+                } finally {
+                    poolThreads.remove(Thread.currentThread());
+                }
+            });
+            poolThreads.add(t);
+            return t;
+        }
+
+        void forEachThread(@NotNull Consumer<Thread> consumer) {
+            for (Thread thread : poolThreads) {
+                if (thread.getState() != Thread.State.TERMINATED)
+                    consumer.accept(thread);
+            }
+        }
+    }
+
+    private static final class TrackedThreadPoolExecutor extends ThreadPoolExecutor implements TrackedExecutor {
+        private final PoolThreads poolThreads;
+
+        TrackedThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, PoolThreads poolThreads) {
+            super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, poolThreads);
+            this.poolThreads = poolThreads;
+        }
+
+        @Override
+        public void forEachThread(@NotNull Consumer<Thread> consumer) {
+            poolThreads.forEachThread(consumer);
+        }
+    }
+
+    private static final class TrackedScheduledThreadPoolExecutor extends ScheduledThreadPoolExecutor implements TrackedExecutor {
+        private final PoolThreads poolThreads;
+
+        TrackedScheduledThreadPoolExecutor(int corePoolSize, PoolThreads poolThreads) {
+            super(corePoolSize, poolThreads);
+            this.poolThreads = poolThreads;
+        }
+
+        @Override
+        public void forEachThread(@NotNull Consumer<Thread> consumer) {
+            poolThreads.forEachThread(consumer);
+        }
+    }
 }
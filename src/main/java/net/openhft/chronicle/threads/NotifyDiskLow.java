@@ -6,4 +6,14 @@ public interface NotifyDiskLow {
     void panic(FileStore fileStore);
 
     void warning(double diskSpaceFullPercent, FileStore fileStore);
+
+    /**
+     * Called when, at the rate it has been filling recently, the disk is projected to be full within
+     * {@code chronicle.disk.monitor.forecast.horizon.secs}.
+     *
+     * @param millisToFull the projected time until the disk is full
+     * @param fileStore    the disk
+     */
+    default void forecast(long millisToFull, FileStore fileStore) {
+    }
 }
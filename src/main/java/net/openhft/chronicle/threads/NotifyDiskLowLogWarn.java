@@ -17,4 +17,11 @@ public class NotifyDiskLowLogWarn implements NotifyDiskLow {
                 + " is " + diskSpaceFullPercent + "% full, " +
                 "warning: the JVM may crash if it undertakes an operation with a memory-mapped file and the disk is out of space.");
     }
+
+    @Override
+    public void forecast(long millisToFull, FileStore fileStore) {
+        Jvm.warn().on(DiskSpaceMonitor.class, "your disk " + fileStore
+                + " is projected to be full in " + millisToFull / 1000 + " seconds at the current rate of writing, " +
+                "warning: the JVM may crash if it undertakes an operation with a memory-mapped file and the disk is out of space.");
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Spins using {@code Thread.onSpinWait()}, i.e. a PAUSE instruction on x86, when running on Java 9+, and
+ * {@link Jvm#nanoPause()} otherwise.
+ */
+public enum OnSpinWaitStrategy implements SpinStrategy {
+    INSTANCE;
+
+    @Nullable
+    private static final MethodHandle ON_SPIN_WAIT = findOnSpinWait();
+
+    @Nullable
+    private static MethodHandle findOnSpinWait() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Thread.class, "onSpinWait", MethodType.methodType(void.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void spin() {
+        if (ON_SPIN_WAIT == null) {
+            Jvm.nanoPause();
+            return;
+        }
+        try {
+            ON_SPIN_WAIT.invokeExact();
+        } catch (Throwable t) {
+            throw Jvm.rethrow(t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpinStrategy.onSpinWait()";
+    }
+}
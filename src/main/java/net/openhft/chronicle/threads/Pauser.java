@@ -94,6 +94,27 @@ public interface Pauser {
                 : new LongPauser(MIN_BUSY, 800, 200, millis * 1000L, TimeUnit.MICROSECONDS);
     }
 
+    /**
+     * A balanced pauser which trims each sleep by the measured park overshoot and spins for the remainder,
+     * so it wakes within {@code pauser.precise.spin.us} (default 20 us) of the requested time.
+     *
+     * @return a {@link TimingPauser} implementing a balanced strategy with precise wake-ups
+     * @see PreciseSleepPauser
+     */
+    static TimingPauser precise() {
+        return new PreciseSleepPauser(MIN_BUSY, 800, 200, 20_000, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * A balanced pauser which waits on a {@link java.nio.channels.Selector} rather than parking, so it also wakes
+     * when a channel registered with it is ready.
+     *
+     * @return a {@link SelectorPauser} implementing a balanced strategy
+     */
+    static SelectorPauser selecting() {
+        return new SelectorPauser(MIN_BUSY, 800, 200, 20_000, TimeUnit.MICROSECONDS);
+    }
+
     /**
      * Creates a {@link MilliPauser} that waits for a fixed duration before resuming execution.
      *
@@ -149,6 +170,20 @@ public interface Pauser {
                 : new BusyTimedPauser();
     }
 
+    /**
+     * Creates a {@link TimingPauser} that keeps the thread busy, spinning with the given strategy,
+     * e.g. {@link SpinStrategy#backOff(int, int)} to use less power when idle for long periods.
+     *
+     * @param spinStrategy how to spin, not shared with other pausers if it is stateful
+     * @return a {@link TimingPauser} that combines busy and timed wait strategies
+     */
+    @NotNull
+    static TimingPauser timedBusy(@NotNull SpinStrategy spinStrategy) {
+        return SLEEPY ? sleepy()
+                : BALANCED ? balanced()
+                : new BusyTimedPauser(spinStrategy);
+    }
+
     /**
      * Pauses the current thread.
      * <p>
@@ -235,6 +270,18 @@ public interface Pauser {
      */
     long countPaused();
 
+    /**
+     * Copies the counts and time spent spinning, yielding and parking so far into {@code stats}.
+     * <p>
+     * Implementations must not allocate, so this can be polled by a monitor. The default reports nothing.
+     *
+     * @param stats the holder to copy into
+     * @return {@code stats}
+     */
+    default PauserStatistics phaseStatistics(@NotNull PauserStatistics stats) {
+        return stats.clear();
+    }
+
     /**
      * @return true if it doesn't really pause
      */
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A group of pausers for event loops which share a socket, so they can idle together rather than each walking
+ * its own back-off independently.
+ * <ul>
+ *     <li>Once every member is parked the group is {@link #isQuiet() quiet}, and members park for the maximum
+ *     time straight away rather than ramping up to it.</li>
+ *     <li>{@link #unpause()} only wakes the members whose {@link Member#pendingWork(BooleanSupplier) pending work}
+ *     check passes. Members without a check are always woken. The loops of an {@link EventGroup} are checked for
+ *     handlers waiting to be accepted.</li>
+ *     <li>An unpause which arrives once a member is idle, but before it parks again, is not lost and the next park
+ *     returns immediately. An unpause while its loop is busy is ignored, so it doesn't cut the next park short.</li>
+ * </ul>
+ * Use {@link EventGroupBuilder#withPauserGroup(PauserGroup)} to have an {@link EventGroup} use one.
+ */
+public class PauserGroup {
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+    private final int minBusy;
+    private final int minYield;
+    private final long minTime;
+    private final long maxTime;
+    @NotNull
+    private final TimeUnit timeUnit;
+
+    /**
+     * @param minBusy  the length in timeUnit each member busy waits before it starts to yield
+     * @param minYield the length in timeUnit each member yields, before it starts to park
+     * @param minTime  the time each member parks for initially
+     * @param maxTime  the time each member parks for eventually, or as soon as the group is quiet
+     * @param timeUnit the unit of the other parameters
+     */
+    public PauserGroup(int minBusy, int minYield, long minTime, long maxTime, @NotNull TimeUnit timeUnit) {
+        this.minBusy = minBusy;
+        this.minYield = minYield;
+        this.minTime = minTime;
+        this.maxTime = maxTime;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * @return a group whose members back off like {@link Pauser#balanced()}
+     */
+    @NotNull
+    public static PauserGroup balanced() {
+        return new PauserGroup(Pauser.MIN_BUSY, 800, 200, 20_000, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Creates a pauser which is a member of this group. Each event loop needs its own member.
+     *
+     * @return the new member
+     */
+    @NotNull
+    public Member newPauser() {
+        Member member = new Member();
+        members.add(member);
+        return member;
+    }
+
+    /**
+     * Removes a member, e.g. once its event loop has stopped, so it no longer prevents the group becoming quiet.
+     *
+     * @param pauser to remove
+     */
+    public void remove(@NotNull Pauser pauser) {
+        members.remove(pauser);
+    }
+
+    /**
+     * Wakes the members which have pending work.
+     *
+     * @return the number of members woken
+     */
+    public int unpause() {
+        int woken = 0;
+        for (Member member : members) {
+            if (member.pendingWork.getAsBoolean()) {
+                member.unpause();
+                woken++;
+            }
+        }
+        return woken;
+    }
+
+    /**
+     * @return true if every member is parked, i.e. every loop in the group has gone idle
+     */
+    public boolean isQuiet() {
+        for (Member member : members) {
+            if (!member.parking)
+                return false;
+        }
+        return !members.isEmpty();
+    }
+
+    /**
+     * @return the number of members which are parked
+     */
+    public int idleCount() {
+        int count = 0;
+        for (Member member : members) {
+            if (member.parking)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of members
+     */
+    public int size() {
+        return members.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PauserGroup{" +
+                "members=" + members.size() +
+                ", idle=" + idleCount() +
+                '}';
+    }
+
+    /**
+     * A {@link LongPauser} which is a member of a {@link PauserGroup}.
+     */
+    public final class Member extends LongPauser {
+        private volatile boolean pending = false;
+        private volatile boolean parking = false;
+        @NotNull
+        private BooleanSupplier pendingWork = () -> true;
+
+        Member() {
+            super(minBusy, minYield, minTime, maxTime, timeUnit);
+        }
+
+        /**
+         * Sets the check for whether this member's loop has work waiting, used by {@link PauserGroup#unpause()}.
+         *
+         * @param pendingWork returns true if there is work to do, called from the thread unpausing the group
+         * @return this
+         */
+        public Member pendingWork(@NotNull BooleanSupplier pendingWork) {
+            this.pendingWork = pendingWork;
+            return this;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (parking)
+                parking = false;
+        }
+
+        @Override
+        void doPause(long delayNs) {
+            parking = true;
+            // so the statistics are for the delay actually used
+            super.doPause(isQuiet() ? maxPauseTimeNS : delayNs);
+        }
+
+        @Override
+        void park(long delayNs) {
+            if (!pending)
+                super.park(delayNs);
+            pending = false;
+        }
+
+        @Override
+        public void unpause() {
+            // only while idle, otherwise the flag would cut the next park short
+            if (parking || isPausing())
+                pending = true;
+            super.unpause();
+        }
+
+        @Override
+        public String toString() {
+            return "PauserGroup.Member{" +
+                    "minBusyNS=" + minBusyNS +
+                    ", minYieldNS=" + minYieldNS +
+                    ", minPauseTimeNS=" + minPauseTimeNS +
+                    ", maxPauseTimeNS=" + maxPauseTimeNS +
+                    '}';
+        }
+    }
+}
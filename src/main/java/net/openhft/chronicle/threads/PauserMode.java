@@ -132,6 +132,19 @@ public enum PauserMode implements Supplier<Pauser> {
         public Pauser get() {
             return Pauser.yielding();
         }
+    },
+
+    /**
+     * Provides a {@link Pauser} which switches between {@link #busy}, {@link #balanced} and {@link #sleepy}
+     * depending on how busy the event loop has been recently.
+     *
+     * @see AdaptivePauser
+     */
+    adaptive {
+        @Override
+        public Pauser get() {
+            return new AdaptivePauser();
+        }
     };
 
     /**
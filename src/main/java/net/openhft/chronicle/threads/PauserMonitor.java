@@ -37,6 +37,9 @@ public class PauserMonitor implements EventHandler {
     private long lastTime = 0;
     private long lastTimePaused = 0;
     private long lastCountPaused = 0;
+    private final PauserStatistics phases = new PauserStatistics();
+    private final PauserStatistics lastPhases = new PauserStatistics();
+    private final PauserStatistics phasesDelta = new PauserStatistics();
 
     public PauserMonitor(Pauser pauser, String description, int seconds) {
         this.pauser = new WeakReference<>(pauser);
@@ -55,6 +58,7 @@ public class PauserMonitor implements EventHandler {
             throw new InvalidEventHandlerException();
         long timePaused = pauserSnapshot.timePaused();
         long countPaused = pauserSnapshot.countPaused();
+        pauserSnapshot.phaseStatistics(phases);
 
         if (nextLongTime > 0) {
             long timeDelta = now - lastTime;
@@ -67,14 +71,17 @@ public class PauserMonitor implements EventHandler {
                 if (PERF_ENABLED)
                     Jvm.perf().on(getClass(), description + ": avg pause: " + averageTime + " ms, "
                             + "count=" + countPausedDelta
-                            + (lastTime > 0 ? ", busy=" + busy + "%" : ""));
+                            + (lastTime > 0 ? ", busy=" + busy + "%" : "")
+                            + ", " + phasesDelta.delta(phases, lastPhases));
             } else {
                 if (PERF_ENABLED)
-                    Jvm.perf().on(getClass(), description + ": count=" + countPausedDelta + ", busy=100%");
+                    Jvm.perf().on(getClass(), description + ": count=" + countPausedDelta + ", busy=100%"
+                            + ", " + phasesDelta.delta(phases, lastPhases));
             }
         }
         lastTimePaused = timePaused;
         lastCountPaused = countPaused;
+        lastPhases.copyFrom(phases);
         nextLongTime = now + mills;
         lastTime = now;
         return true;
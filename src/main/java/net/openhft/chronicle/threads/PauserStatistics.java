@@ -0,0 +1,158 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The time and number of calls a {@link Pauser} has spent in each phase of pausing, i.e. busy spinning, yielding and parking.
+ * <p>
+ * This is a mutable holder, so a monitor can take repeated snapshots via {@link Pauser#phaseStatistics(PauserStatistics)}
+ * without allocating. It is not thread safe, snapshots taken from another thread are approximate.
+ */
+public final class PauserStatistics {
+    long spinCount;
+    long spinNS;
+    long yieldCount;
+    long yieldNS;
+    long parkCount;
+    long parkNS;
+    long overshootNS;
+
+    /**
+     * @return the number of busy spins
+     */
+    public long spinCount() {
+        return spinCount;
+    }
+
+    /**
+     * @return the time spent busy spinning in nanoseconds
+     */
+    public long spinNS() {
+        return spinNS;
+    }
+
+    /**
+     * @return the number of times the thread yielded
+     */
+    public long yieldCount() {
+        return yieldCount;
+    }
+
+    /**
+     * @return the time spent yielding in nanoseconds
+     */
+    public long yieldNS() {
+        return yieldNS;
+    }
+
+    /**
+     * @return the number of times the thread parked or slept
+     */
+    public long parkCount() {
+        return parkCount;
+    }
+
+    /**
+     * @return the time spent parked or asleep in nanoseconds
+     */
+    public long parkNS() {
+        return parkNS;
+    }
+
+    /**
+     * @return the total time parks and sleeps took beyond the time requested, in nanoseconds
+     */
+    public long overshootNS() {
+        return overshootNS;
+    }
+
+    /**
+     * @return the time spent in all phases in nanoseconds
+     */
+    public long totalNS() {
+        return spinNS + yieldNS + parkNS;
+    }
+
+    public PauserStatistics addSpin(long count, long nanos) {
+        spinCount += count;
+        spinNS += nanos;
+        return this;
+    }
+
+    public PauserStatistics addYield(long count, long nanos) {
+        yieldCount += count;
+        yieldNS += nanos;
+        return this;
+    }
+
+    public PauserStatistics addPark(long count, long nanos, long overshootNanos) {
+        parkCount += count;
+        parkNS += nanos;
+        overshootNS += overshootNanos;
+        return this;
+    }
+
+    /**
+     * Adds every counter of {@code other} to this.
+     *
+     * @param other to add
+     * @return this
+     */
+    public PauserStatistics add(@NotNull PauserStatistics other) {
+        addSpin(other.spinCount, other.spinNS);
+        addYield(other.yieldCount, other.yieldNS);
+        return addPark(other.parkCount, other.parkNS, other.overshootNS);
+    }
+
+    /**
+     * Sets this to the difference between {@code current} and {@code previous}.
+     *
+     * @param current  the later snapshot
+     * @param previous the earlier snapshot
+     * @return this
+     */
+    public PauserStatistics delta(@NotNull PauserStatistics current, @NotNull PauserStatistics previous) {
+        spinCount = current.spinCount - previous.spinCount;
+        spinNS = current.spinNS - previous.spinNS;
+        yieldCount = current.yieldCount - previous.yieldCount;
+        yieldNS = current.yieldNS - previous.yieldNS;
+        parkCount = current.parkCount - previous.parkCount;
+        parkNS = current.parkNS - previous.parkNS;
+        overshootNS = current.overshootNS - previous.overshootNS;
+        return this;
+    }
+
+    public PauserStatistics copyFrom(@NotNull PauserStatistics other) {
+        return clear().add(other);
+    }
+
+    public PauserStatistics clear() {
+        spinCount = spinNS = yieldCount = yieldNS = parkCount = parkNS = overshootNS = 0;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "spin=" + spinCount + "/" + spinNS / 1000 + "us" +
+                ", yield=" + yieldCount + "/" + yieldNS / 1000 + "us" +
+                ", park=" + parkCount + "/" + parkNS / 1000 + "us" +
+                ", overshoot=" + overshootNS / 1000 + "us";
+    }
+}
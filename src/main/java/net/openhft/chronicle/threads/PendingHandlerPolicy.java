@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+/**
+ * What {@link MediumEventLoop#addHandler} does when a started loop's {@link PendingHandlerQueue} is full.
+ */
+public enum PendingHandlerPolicy {
+    /**
+     * Wait for the loop to accept pending handlers, or to stop.
+     */
+    BLOCK,
+    /**
+     * Throw a {@link java.util.concurrent.RejectedExecutionException}
+     */
+    FAIL_FAST,
+    /**
+     * Add the handler to the loop's fallback loop instead, or fail fast if it has none.
+     */
+    FALLBACK,
+    /**
+     * Hold the handler in an unbounded overflow queue, as loops did before pending handlers were bounded. This is the default.
+     */
+    OVERFLOW
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.EventHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, pre-allocated queue of handlers added to a running event loop which the loop has yet to accept.
+ * <p>
+ * Any thread may offer, only the event loop thread polls. Checking for pending handlers does not take the lock,
+ * so an idle loop can check on every iteration. The time each handler waited to be accepted is recorded.
+ */
+public final class PendingHandlerQueue {
+    public static final int DEFAULT_CAPACITY = Jvm.getInteger("eventloop.pending.handlers.capacity", 1024);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final EventHandler[] handlers;
+    private final long[] enqueuedNS;
+    private int head = 0;
+    private int tail = 0;
+    private volatile int size = 0;
+    private volatile long oldestEnqueuedNS = Long.MAX_VALUE;
+
+    // written by the event loop thread only
+    private long acceptedCount = 0;
+    private long totalAcceptLatencyNS = 0;
+    private long maxAcceptLatencyNS = 0;
+
+    public PendingHandlerQueue(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive, was " + capacity);
+        handlers = new EventHandler[capacity];
+        enqueuedNS = new long[capacity];
+    }
+
+    /**
+     * Adds a handler if there is space.
+     *
+     * @param handler to add
+     * @return false if the queue is full
+     */
+    public boolean offer(@NotNull EventHandler handler) {
+        lock.lock();
+        try {
+            if (size == handlers.length)
+                return false;
+            enqueue(handler);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a handler, waiting up to the timeout for space.
+     *
+     * @param handler  to add
+     * @param timeout  the maximum time to wait
+     * @param timeUnit of the timeout
+     * @return false if the queue was still full after the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(@NotNull EventHandler handler, long timeout, @NotNull TimeUnit timeUnit) throws InterruptedException {
+        long nanos = timeUnit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == handlers.length) {
+                if (nanos <= 0)
+                    return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            enqueue(handler);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(@NotNull EventHandler handler) {
+        long now = System.nanoTime();
+        handlers[tail] = handler;
+        enqueuedNS[tail] = now;
+        if (++tail == handlers.length)
+            tail = 0;
+        if (size++ == 0)
+            oldestEnqueuedNS = now;
+    }
+
+    /**
+     * Removes the oldest pending handler, recording how long it waited. Only called by the event loop thread.
+     *
+     * @return the oldest handler or null if there are none
+     */
+    @Nullable
+    public EventHandler poll() {
+        if (size == 0)
+            return null;
+        lock.lock();
+        try {
+            if (size == 0)
+                return null;
+            final EventHandler handler = handlers[head];
+            final long latencyNS = System.nanoTime() - enqueuedNS[head];
+            handlers[head] = null;
+            if (++head == handlers.length)
+                head = 0;
+            oldestEnqueuedNS = --size == 0 ? Long.MAX_VALUE : enqueuedNS[head];
+            acceptedCount++;
+            totalAcceptLatencyNS += latencyNS;
+            if (latencyNS > maxAcceptLatencyNS)
+                maxAcceptLatencyNS = latencyNS;
+            notFull.signal();
+            return handler;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the oldest pending handler which matches, keeping the order of the others.
+     * It is not counted as accepted.
+     *
+     * @param matches the handler to remove
+     * @return the handler removed or null if none matched
+     */
+    @Nullable
+    public EventHandler remove(@NotNull Predicate<EventHandler> matches) {
+        lock.lock();
+        try {
+            for (int i = 0, index = head; i < size; i++) {
+                final EventHandler handler = handlers[index];
+                if (matches.test(handler)) {
+                    // close the gap by moving the newer handlers back one
+                    for (int j = i + 1, from = next(index); j < size; j++, index = from, from = next(from)) {
+                        handlers[index] = handlers[from];
+                        enqueuedNS[index] = enqueuedNS[from];
+                    }
+                    handlers[index] = null;
+                    tail = index;
+                    oldestEnqueuedNS = --size == 0 ? Long.MAX_VALUE : enqueuedNS[head];
+                    notFull.signal();
+                    return handler;
+                }
+                index = next(index);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int next(int index) {
+        return index + 1 == handlers.length ? 0 : index + 1;
+    }
+
+    /**
+     * Calls the action for each pending handler, without removing them.
+     *
+     * @param action to call
+     */
+    public void forEach(@NotNull Consumer<EventHandler> action) {
+        lock.lock();
+        try {
+            for (int i = 0, index = head; i < size; i++) {
+                action.accept(handlers[index]);
+                if (++index == handlers.length)
+                    index = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards every pending handler, waking any thread waiting for space.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(handlers, null);
+            head = tail = size = 0;
+            oldestEnqueuedNS = Long.MAX_VALUE;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of handlers waiting to be accepted
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return handlers.length;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the oldest pending handler was added, or {@link Long#MAX_VALUE} if there are none
+     */
+    public long oldestEnqueuedNS() {
+        return oldestEnqueuedNS;
+    }
+
+    /**
+     * @return the number of handlers accepted so far
+     */
+    public long acceptedCount() {
+        return acceptedCount;
+    }
+
+    /**
+     * @return the mean time handlers waited to be accepted in nanoseconds
+     */
+    public long averageAcceptLatencyNS() {
+        final long count = acceptedCount;
+        return count == 0 ? 0 : totalAcceptLatencyNS / count;
+    }
+
+    /**
+     * @return the longest time a handler waited to be accepted in nanoseconds
+     */
+    public long maxAcceptLatencyNS() {
+        return maxAcceptLatencyNS;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingHandlerQueue{" +
+                "size=" + size +
+                ", capacity=" + handlers.length +
+                ", acceptedCount=" + acceptedCount +
+                ", averageAcceptLatencyUS=" + averageAcceptLatencyNS() / 1000 +
+                ", maxAcceptLatencyUS=" + maxAcceptLatencyNS / 1000 +
+                '}';
+    }
+}
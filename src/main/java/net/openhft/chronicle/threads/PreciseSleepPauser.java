@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link LongPauser} which aims to wake at the requested time rather than whenever the OS gets around to it.
+ * <p>
+ * {@link LockSupport#parkNanos(long)} typically overshoots by the OS timer slack (50 us by default on Linux), which makes
+ * short sleeps unpredictable. This pauser parks for the requested time less the measured overshoot and a spin margin,
+ * then spins for the remainder. The overshoot is measured once at startup and then refined by each park.
+ */
+public class PreciseSleepPauser extends LongPauser {
+    static final long SPIN_MARGIN_NS = TimeUnit.MICROSECONDS.toNanos(Jvm.getInteger("pauser.precise.spin.us", 20));
+    private volatile boolean unpaused = false;
+    private long spinMarginNS = SPIN_MARGIN_NS;
+    // read by other threads via parkOvershootNS()
+    private volatile long parkOvershootNS = Calibration.PARK_OVERSHOOT_NS;
+
+    /**
+     * See {@link LongPauser#LongPauser(int, int, long, long, TimeUnit)}
+     *
+     * @param minBusy  the length in timeUnit to go around doing nothing, after this is
+     *                 reached it will then start to yield
+     * @param minYield the length in timeUnit it will yield, before it starts to sleep
+     * @param minTime  the amount of time to sleep ( initially )
+     * @param maxTime  the amount of time subsequently to sleep
+     * @param timeUnit the unit of the {@code minTime}  and {@code maxTime}
+     */
+    public PreciseSleepPauser(int minBusy, int minYield, long minTime, long maxTime, @NotNull TimeUnit timeUnit) {
+        super(minBusy, minYield, minTime, maxTime, timeUnit);
+    }
+
+    /**
+     * @return the park overshoot in nanoseconds measured when this class was first loaded
+     */
+    public static long calibratedParkOvershootNS() {
+        return Calibration.PARK_OVERSHOOT_NS;
+    }
+
+    /**
+     * Sets how long before the target wake time the park should end, the remainder is spent spinning.
+     * A larger margin wakes more reliably on time at the cost of more CPU.
+     *
+     * @param wakeWithin the spin margin
+     * @param timeUnit   the unit of {@code wakeWithin}
+     * @return this {@code PreciseSleepPauser} instance for chaining
+     */
+    public PreciseSleepPauser wakeWithin(long wakeWithin, @NotNull TimeUnit timeUnit) {
+        this.spinMarginNS = timeUnit.toNanos(wakeWithin);
+        return this;
+    }
+
+    /**
+     * @return the current estimate of how far a park overshoots the requested time, in nanoseconds
+     */
+    public long parkOvershootNS() {
+        return parkOvershootNS;
+    }
+
+    @Override
+    void park(long delayNs) {
+        final long start = System.nanoTime();
+        final long deadlineNS = start + delayNs;
+        final long parkNS = delayNs - parkOvershootNS - spinMarginNS;
+        if (parkNS > 0) {
+            LockSupport.parkNanos(parkNS);
+            final long overshootNS = System.nanoTime() - start - parkNS;
+            // an early return means we were unparked, which says nothing about the overshoot
+            if (overshootNS >= 0 && !unpaused)
+                parkOvershootNS += (overshootNS - parkOvershootNS) >> 3;
+        }
+        while (System.nanoTime() < deadlineNS && !unpaused && !Thread.currentThread().isInterrupted())
+            Jvm.nanoPause();
+        unpaused = false;
+    }
+
+    @Override
+    public void unpause() {
+        // only while pausing, otherwise the flag would cut the next park short
+        if (isPausing())
+            unpaused = true;
+        super.unpause();
+    }
+
+    @Override
+    public String toString() {
+        return "PreciseSleepPauser{" +
+                "minBusyNS=" + minBusyNS +
+                ", minYieldNS=" + minYieldNS +
+                ", minPauseTimeNS=" + minPauseTimeNS +
+                ", maxPauseTimeNS=" + maxPauseTimeNS +
+                ", spinMarginNS=" + spinMarginNS +
+                ", parkOvershootNS=" + parkOvershootNS +
+                '}';
+    }
+
+    static final class Calibration {
+        private static final int SAMPLES = Jvm.getInteger("pauser.precise.calibration.samples", 21);
+        private static final long PARK_NS = 10_000;
+        static final long PARK_OVERSHOOT_NS = calibrate();
+
+        private Calibration() {
+        }
+
+        private static long calibrate() {
+            final long[] overshoots = new long[Math.max(1, SAMPLES)];
+            for (int i = 0; i < overshoots.length; i++) {
+                final long start = System.nanoTime();
+                LockSupport.parkNanos(PARK_NS);
+                overshoots[i] = System.nanoTime() - start - PARK_NS;
+            }
+            Arrays.sort(overshoots);
+            final long median = Math.max(0, overshoots[overshoots.length / 2]);
+            Jvm.perf().on(PreciseSleepPauser.class, "Measured park overshoot of " + median / 1000 + " us");
+            return median;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.io.IORuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link LongPauser} which waits in {@link Selector#select(long)} rather than parking, so an idle event loop wakes as
+ * soon as a registered channel is ready, as well as on {@link #unpause()}.
+ * <p>
+ * Handlers register their non-blocking channels via {@link MediumEventLoop#registerChannel(SelectableChannel, int)},
+ * ideally in {@code loopStarted()}, and read or write them in {@code action()} as usual. The selected keys are cleared
+ * after each wait, so a handler must not rely on them to know which channel is ready.
+ * <p>
+ * {@link Selector#select(long)} has millisecond resolution, so waits are rounded up to whole milliseconds.
+ */
+public class SelectorPauser extends LongPauser implements java.io.Closeable {
+    private final Selector selector;
+
+    /**
+     * See {@link LongPauser#LongPauser(int, int, long, long, TimeUnit)}
+     *
+     * @param minBusy  the length in timeUnit to go around doing nothing, after this is
+     *                 reached it will then start to yield
+     * @param minYield the length in timeUnit it will yield, before it starts to sleep
+     * @param minTime  the amount of time to sleep ( initially )
+     * @param maxTime  the amount of time subsequently to sleep
+     * @param timeUnit the unit of the {@code minTime}  and {@code maxTime}
+     */
+    public SelectorPauser(int minBusy, int minYield, long minTime, long maxTime, @NotNull TimeUnit timeUnit) {
+        super(minBusy, minYield, minTime, maxTime, timeUnit);
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * Registers a channel to wake the thread using this pauser when it is ready.
+     * <p>
+     * Best called on that thread, as on Java 8 registering blocks while the selector is waiting. The selector is always
+     * woken first, at worst making its next wait return early.
+     *
+     * @param channel a non-blocking channel
+     * @param ops     the operations to wait for, e.g. {@link SelectionKey#OP_READ}
+     * @return the key, to be cancelled when the channel is no longer of interest
+     * @throws ClosedChannelException if the channel is closed
+     */
+    @NotNull
+    public SelectionKey register(@NotNull SelectableChannel channel, int ops) throws ClosedChannelException {
+        selector.wakeup();
+        return channel.register(selector, ops);
+    }
+
+    @Override
+    void park(long delayNs) {
+        try {
+            selector.select(Math.max(1, (delayNs + 999_999) / 1_000_000));
+            selector.selectedKeys().clear();
+        } catch (IOException e) {
+            Jvm.warn().on(getClass(), "Unable to select, parking instead", e);
+            super.park(delayNs);
+        }
+    }
+
+    @Override
+    public void unpause() {
+        super.unpause();
+        // pausing is set before select() is called, a wakeup in between makes select() return at once
+        if (isPausing())
+            selector.wakeup();
+    }
+
+    /**
+     * Closes the selector, which cancels the keys registered with it.
+     */
+    @Override
+    public void close() {
+        try {
+            selector.close();
+        } catch (IOException e) {
+            Jvm.debug().on(getClass(), "Unable to close " + selector, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SelectorPauser{" +
+                "minBusyNS=" + minBusyNS +
+                ", minYieldNS=" + minYieldNS +
+                ", minPauseTimeNS=" + minPauseTimeNS +
+                ", maxPauseTimeNS=" + maxPauseTimeNS +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link EventHandler} whose state is saved when its event loop stops, and restored before it starts again,
+ * so a restarted loop does not have to rebuild that state from scratch.
+ * <p>
+ * If the system property {@code eventloop.snapshot.dir} is set, an event loop calls {@link #snapshot(SnapshotRegion)}
+ * before {@link #loopFinished()} when the loop stops, writing to a memory mapped file named after
+ * {@link #snapshotName()}. The next time a loop starts with the handler, {@link #restore(SnapshotRegion)} is called
+ * before {@link #loopStarted()}. A snapshot is restored at most once, so if the process dies before the next snapshot
+ * is taken, the handler rebuilds its state as usual rather than restoring stale state.
+ * <p>
+ * Only starting and stopping the loop itself does this. A handler added to a running loop is not restored, and a
+ * handler transferred between loops keeps its state in memory so is neither snapshotted nor restored.
+ */
+public interface SnapshotEventHandler extends EventHandler {
+    /**
+     * @return a name for this handler's snapshot which is unique in the snapshot directory and the same across restarts
+     */
+    @NotNull
+    String snapshotName();
+
+    /**
+     * @return the most bytes a snapshot can take, at most {@link SnapshotRegion#MAX_CAPACITY}
+     */
+    default long snapshotCapacity() {
+        return 1 << 20;
+    }
+
+    /**
+     * Writes the state of this handler, called on the event loop thread before {@link #loopFinished()}.
+     * Throwing an exception discards the snapshot.
+     *
+     * @param region to write to, from position 0
+     */
+    void snapshot(@NotNull SnapshotRegion region);
+
+    /**
+     * Reads the state of this handler written by {@link #snapshot(SnapshotRegion)}, called before {@link #loopStarted()}
+     * on the thread which will run it. Not called if there is no valid snapshot.
+     *
+     * @param region to read from, from position 0 up to {@link SnapshotRegion#limit()}
+     */
+    void restore(@NotNull SnapshotRegion region);
+}
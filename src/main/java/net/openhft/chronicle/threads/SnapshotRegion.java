@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A region of off-heap memory, mapped to a file, which a {@link SnapshotEventHandler} writes its state to and reads it
+ * back from.
+ * <p>
+ * Values are written and read in sequence from the current {@link #position()}, in native byte order. The file starts
+ * with a small header recording the length of the snapshot, which is only set once the snapshot has been written and
+ * flushed, so a snapshot interrupted part way is never restored. The memory is unmapped once the region is garbage
+ * collected, so a region should not be kept after the call it was passed to.
+ */
+public final class SnapshotRegion {
+    static final int HEADER_SIZE = 16;
+    /**
+     * The largest snapshot which can be taken
+     */
+    public static final long MAX_CAPACITY = Integer.MAX_VALUE - HEADER_SIZE;
+
+    private static final long MAGIC = 0x534e41505348_0001L; // "SNAPSH" v1
+    private static final int LENGTH_OFFSET = 8;
+    private static final long INVALID = -1;
+
+    private final File file;
+    private final MappedByteBuffer buffer;
+
+    private SnapshotRegion(File file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Maps {@code file} to write a snapshot of up to {@code capacity} bytes, invalidating any snapshot already in it.
+     */
+    static SnapshotRegion forWriting(@NotNull File file, long capacity) throws IOException {
+        if (capacity < 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Snapshot capacity " + capacity + " must be between 0 and " + MAX_CAPACITY);
+        final SnapshotRegion region = new SnapshotRegion(file, map(file, HEADER_SIZE + capacity));
+        region.buffer.putLong(0, MAGIC);
+        region.invalidate();
+        region.buffer.position(HEADER_SIZE);
+        return region;
+    }
+
+    /**
+     * Maps a valid snapshot in {@code file} to read it.
+     *
+     * @return the region, or null if there is no valid snapshot
+     */
+    static SnapshotRegion forReading(@NotNull File file) throws IOException {
+        final long fileLength = file.length();
+        if (fileLength < HEADER_SIZE || fileLength > HEADER_SIZE + MAX_CAPACITY)
+            return null;
+        final SnapshotRegion region = new SnapshotRegion(file, map(file, fileLength));
+        final long length = region.buffer.getLong(LENGTH_OFFSET);
+        if (region.buffer.getLong(0) != MAGIC || length < 0 || length > fileLength - HEADER_SIZE)
+            return null;
+        region.buffer.limit((int) (HEADER_SIZE + length));
+        region.buffer.position(HEADER_SIZE);
+        return region;
+    }
+
+    private static MappedByteBuffer map(File file, long size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            // the mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Records the bytes written so far as a valid snapshot, after flushing them to the file.
+     */
+    void commit() {
+        final long length = buffer.position() - (long) HEADER_SIZE;
+        buffer.force();
+        buffer.putLong(LENGTH_OFFSET, length);
+        buffer.force();
+    }
+
+    /**
+     * Marks the file as not holding a valid snapshot.
+     */
+    void invalidate() {
+        buffer.putLong(LENGTH_OFFSET, INVALID);
+        buffer.force();
+    }
+
+    /**
+     * @return the file this region is mapped to
+     */
+    @NotNull
+    public File file() {
+        return file;
+    }
+
+    /**
+     * @return the offset of the next byte to read or write
+     */
+    public long position() {
+        return buffer.position() - (long) HEADER_SIZE;
+    }
+
+    /**
+     * Sets the offset of the next byte to read or write.
+     *
+     * @param position the new position, up to {@link #limit()}
+     * @return this
+     */
+    public SnapshotRegion position(long position) {
+        if (position < 0 || position > limit())
+            throw new IllegalArgumentException("position " + position + " out of range 0 to " + limit());
+        buffer.position((int) (HEADER_SIZE + position));
+        return this;
+    }
+
+    /**
+     * @return the length of the snapshot when reading, or its capacity when writing
+     */
+    public long limit() {
+        return buffer.limit() - (long) HEADER_SIZE;
+    }
+
+    /**
+     * @return the number of bytes which can be read or written from the current position
+     */
+    public long remaining() {
+        return buffer.remaining();
+    }
+
+    public SnapshotRegion writeByte(byte b) {
+        buffer.put(b);
+        return this;
+    }
+
+    public SnapshotRegion writeInt(int i) {
+        buffer.putInt(i);
+        return this;
+    }
+
+    public SnapshotRegion writeLong(long l) {
+        buffer.putLong(l);
+        return this;
+    }
+
+    public SnapshotRegion writeDouble(double d) {
+        buffer.putDouble(d);
+        return this;
+    }
+
+    public SnapshotRegion write(@NotNull byte[] bytes, int offset, int length) {
+        buffer.put(bytes, offset, length);
+        return this;
+    }
+
+    public byte readByte() {
+        return buffer.get();
+    }
+
+    public int readInt() {
+        return buffer.getInt();
+    }
+
+    public long readLong() {
+        return buffer.getLong();
+    }
+
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    public SnapshotRegion read(@NotNull byte[] bytes, int offset, int length) {
+        buffer.get(bytes, offset, length);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotRegion{" +
+                "file=" + file +
+                ", position=" + position() +
+                ", limit=" + limit() +
+                '}';
+    }
+}
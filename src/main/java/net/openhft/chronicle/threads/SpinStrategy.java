@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How a busy waiting {@link Pauser} spins while it has nothing to do.
+ * <p>
+ * Strategies may be stateful, in which case each pauser needs its own instance and {@link #reset()} is called whenever
+ * the pauser is reset, i.e. when there was work to do.
+ */
+@FunctionalInterface
+public interface SpinStrategy {
+
+    /**
+     * Spins once, hinting to the CPU that this thread is busy waiting.
+     */
+    void spin();
+
+    /**
+     * Called when the waiting ends because there was work to do.
+     */
+    default void reset() {
+    }
+
+    /**
+     * @return the default strategy which uses {@code Thread.onSpinWait()} where the JVM provides it
+     */
+    @NotNull
+    static SpinStrategy onSpinWait() {
+        return OnSpinWaitStrategy.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy which issues more spin hints per spin the longer it goes without a reset, lowering the
+     * density of the busy loop. This uses less power and disturbs a hyper-thread sibling less, at the cost of
+     * reacting up to {@code maxPausesPerSpin} spin hints later.
+     *
+     * @param emptySpins       the number of spins after which the number of spin hints per spin doubles
+     * @param maxPausesPerSpin the maximum number of spin hints per spin
+     * @return a new stateful strategy, not to be shared between pausers
+     */
+    @NotNull
+    static SpinStrategy backOff(int emptySpins, int maxPausesPerSpin) {
+        return new BackOffSpinStrategy(onSpinWait(), emptySpins, maxPausesPerSpin);
+    }
+}
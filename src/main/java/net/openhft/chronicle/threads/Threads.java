@@ -169,6 +169,16 @@ public enum Threads {
     }
 
     static void forEachThread(ExecutorService service, Consumer<Thread> consumer) {
+        // only executors created by a NamedThreadFactory, as other executors may share a factory
+        if (service instanceof NamedThreadFactory.TrackedExecutor) {
+            ((NamedThreadFactory.TrackedExecutor) service).forEachThread(consumer);
+            return;
+        }
+        if (service instanceof AffinityExecutorService) {
+            ((AffinityExecutorService) service).forEachThread(consumer);
+            return;
+        }
+        // otherwise find the threads via the executor's internals
         try {
             if (!(service instanceof ThreadPoolExecutor))
                 service = resolveDelegatedExecutorServices(service);
@@ -250,6 +260,15 @@ public enum Threads {
         }
     }
 
+    /**
+     * Restores the snapshot of the handler if it supports it, before calling loopStarted as the loop is starting.
+     * Handlers added to a running loop or transferred to it use {@link #loopStartedCall(EventLoop, EventHandler)}
+     */
+    static boolean restoreAndLoopStartedCall(EventLoop eventLoop, @NotNull EventHandler handler) {
+        HandlerSnapshots.restore(handler);
+        return loopStartedCall(eventLoop, handler);
+    }
+
     static boolean loopStartedCall(EventLoop eventLoop, @NotNull EventHandler handler) {
         try {
             handler.loopStarted();
@@ -260,6 +279,15 @@ public enum Threads {
         }
     }
 
+    /**
+     * Takes a snapshot of the handler if it supports it, before calling loopFinished as the loop is stopping
+     */
+    static void snapshotAndLoopFinishedQuietly(EventHandler eventHandler) {
+        if (eventHandler != null)
+            HandlerSnapshots.snapshot(eventHandler);
+        loopFinishedQuietly(eventHandler);
+    }
+
     static void loopFinishedQuietly(EventHandler eventHandler) {
         try {
             eventHandler.loopFinished();
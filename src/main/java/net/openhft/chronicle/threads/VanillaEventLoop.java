@@ -88,7 +88,7 @@ public class VanillaEventLoop extends MediumEventLoop {
                 ", mediumHandlers=" + mediumHandlers +
                 ", timerHandlers=" + timerHandlers +
                 ", daemonHandlers=" + daemonHandlers +
-                ", newHandlers=" + newHandlers +
+                ", pendingHandlers=" + pendingHandlers +
                 ", pauser=" + pauser +
                 '}';
     }
@@ -116,9 +116,30 @@ public class VanillaEventLoop extends MediumEventLoop {
     protected void loopFinishedAllHandlers() {
         super.loopFinishedAllHandlers();
         if (!timerHandlers.isEmpty())
-            timerHandlers.forEach(Threads::loopFinishedQuietly);
+            timerHandlers.forEach(Threads::snapshotAndLoopFinishedQuietly);
         if (!daemonHandlers.isEmpty())
-            daemonHandlers.forEach(Threads::loopFinishedQuietly);
+            daemonHandlers.forEach(Threads::snapshotAndLoopFinishedQuietly);
+    }
+
+    @Nullable
+    @Override
+    protected EventHandler detachHandler(@NotNull final EventHandler handler) {
+        final EventHandler detached = super.detachHandler(handler);
+        if (detached != null)
+            return detached;
+        final EventHandler timer = detachHandler(handler, timerHandlers);
+        return timer != null ? timer : detachHandler(handler, daemonHandlers);
+    }
+
+    @Override
+    List<EventHandler> detachHandlers() {
+        final List<EventHandler> detached = super.detachHandlers();
+        detached.addAll(timerHandlers);
+        timerHandlers.clear();
+        detached.addAll(daemonHandlers);
+        daemonHandlers.clear();
+        detached.replaceAll(BatchedHandlerAdapter::unwrap);
+        return detached;
     }
 
     @Override
@@ -141,6 +162,7 @@ public class VanillaEventLoop extends MediumEventLoop {
             EventHandler handler = null;
             try {
                 handler = handlers.get(i);
+                currentHandler = handler;
                 handler.action();
             } catch (InvalidEventHandlerException e) {
                 removeHandler(handler, handlers);
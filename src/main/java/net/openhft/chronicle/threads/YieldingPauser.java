@@ -34,7 +34,9 @@ public class YieldingPauser implements TimingPauser {
     private long timePaused = 0;
     private long countPaused = 0;
     private long yieldStart = 0;
+    private long spinStart = 0;
     private long timeOutStart = Long.MAX_VALUE;
+    private final PauserStatistics statistics = new PauserStatistics();
 
     /**
      * Constructs a {@link YieldingPauser} with a specified threshold for busy waiting.
@@ -47,6 +49,7 @@ public class YieldingPauser implements TimingPauser {
 
     @Override
     public void reset() {
+        checkSpinTime();
         checkYieldTime();
         count = 0;
         timeOutStart = Long.MAX_VALUE;
@@ -61,9 +64,11 @@ public class YieldingPauser implements TimingPauser {
         ++count;
         if (count < minBusy) {
             ++countPaused;
+            spin();
             Jvm.safepoint();
             return;
         }
+        checkSpinTime();
         yield0();
         checkYieldTime();
     }
@@ -82,8 +87,11 @@ public class YieldingPauser implements TimingPauser {
             timeOutStart = System.nanoTime();
 
         ++count;
-        if (count < minBusy)
+        if (count < minBusy) {
+            spin();
             return;
+        }
+        checkSpinTime();
         yield0();
 
         if (System.nanoTime() - timeOutStart > timeUnit.toNanos(timeout))
@@ -99,16 +107,31 @@ public class YieldingPauser implements TimingPauser {
             long time = System.nanoTime() - yieldStart;
             timePaused += time;
             countPaused++;
+            statistics.yieldNS += time;
             yieldStart = 0;
         }
     }
 
+    private void spin() {
+        if (spinStart == 0)
+            spinStart = System.nanoTime();
+        statistics.spinCount++;
+    }
+
+    private void checkSpinTime() {
+        if (spinStart > 0) {
+            statistics.spinNS += System.nanoTime() - spinStart;
+            spinStart = 0;
+        }
+    }
+
     /**
      * Initiates or continues a yielding phase for this pauser.
      */
     void yield0() {
         if (yieldStart == 0)
             yieldStart = System.nanoTime();
+        statistics.yieldCount++;
         Thread.yield();
     }
 
@@ -137,6 +160,11 @@ public class YieldingPauser implements TimingPauser {
         return countPaused;
     }
 
+    @Override
+    public PauserStatistics phaseStatistics(@NotNull PauserStatistics stats) {
+        return stats.copyFrom(statistics);
+    }
+
     /**
      * Provides a string representation of this pauser, which varies based on the {@code minBusy} configuration.
      *
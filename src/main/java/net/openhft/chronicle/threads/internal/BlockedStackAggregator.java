@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads.internal;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.threads.Threads;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates blocked thread samples into collapsed stacks, one line per distinct stack of the form
+ * {@code thread;handler;rootFrame;...;leafFrame count}, as read by flame graph tools.
+ * <p>
+ * Enabled with {@code threads.block.collapsed}, in which case the thread monitors record a sample per block report
+ * instead of logging a stack trace. From the first sample, the summary since the last flush is written every
+ * {@code threads.block.collapsed.flush.secs} to {@code threads.block.collapsed.file}, or logged via {@link Jvm#perf()}
+ * if no file is set. The number of samples and the longest block are logged via {@link Jvm#perf()} either way.
+ */
+public enum BlockedStackAggregator {
+    INSTANCE;
+
+    public static final boolean ENABLED = Jvm.getBoolean("threads.block.collapsed");
+    static final long FLUSH_INTERVAL_SECS = Jvm.getLong("threads.block.collapsed.flush.secs", 60L);
+    @Nullable
+    static final String FILE = Jvm.getProperty("threads.block.collapsed.file");
+    private static final String THREADS_PACKAGE = "net.openhft.chronicle.threads.";
+    // methods of the event loops which call handlers
+    private static final Set<String> DISPATCH_METHODS = new HashSet<>(Arrays.asList(
+            "callHighHandler", "runTimerHandlers", "runDaemonHandlers", "runHandlers"));
+    // classes between an event loop's dispatch method and the handler, which are not the handler
+    private static final Set<String> LOOP_CLASSES = new HashSet<>(Arrays.asList(
+            THREADS_PACKAGE + "MediumEventLoop",
+            THREADS_PACKAGE + "VanillaEventLoop",
+            THREADS_PACKAGE + "MonitorEventLoop",
+            THREADS_PACKAGE + "MonitorEventLoop$IdempotentLoopStartedEventHandler",
+            THREADS_PACKAGE + "BlockingEventLoop$Runner",
+            THREADS_PACKAGE + "BatchedHandlerAdapter"));
+
+    // all guarded by this
+    private final Map<StackTraceElement, String> frames = new HashMap<>();
+    private final Map<String, long[]> stacks = new HashMap<>();
+    private final StringBuilder key = new StringBuilder();
+    private boolean flushScheduled = false;
+    private long samples = 0;
+    private long maxBlockedNS = 0;
+
+    static {
+        if (ENABLED)
+            Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::flush, "blocked-stack-flush"));
+    }
+
+    /**
+     * Records one sample of a blocked thread.
+     *
+     * @param threadName of the blocked thread
+     * @param blockedNS  how long it had been blocked
+     * @param stack      its stack trace, leaf first
+     */
+    public void record(@NotNull String threadName, long blockedNS, @NotNull StackTraceElement[] stack) {
+        synchronized (this) {
+            key.setLength(0);
+            key.append(threadName).append(';').append(handlerOf(stack));
+            for (int i = stack.length - 1; i >= 0; i--)
+                key.append(';').append(frame(stack[i]));
+            final String stackKey = key.toString();
+            final long[] counts = stacks.computeIfAbsent(stackKey, k -> new long[1]);
+            counts[0]++;
+            samples++;
+            // a block is sampled repeatedly as it goes on, so the longest is reported rather than the sum
+            if (blockedNS > maxBlockedNS)
+                maxBlockedNS = blockedNS;
+            if (flushScheduled || !ENABLED)
+                return;
+            flushScheduled = true;
+        }
+        // flushed from a timer, so a flush isn't delayed until the next sample
+        Threads.acquireScheduledExecutorService("blocked-stack-flush", true)
+                .scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_SECS, FLUSH_INTERVAL_SECS, TimeUnit.SECONDS);
+    }
+
+    private String frame(StackTraceElement element) {
+        return frames.computeIfAbsent(element, e -> e.getClassName() + '.' + e.getMethodName());
+    }
+
+    /**
+     * The handler being called when the sample was taken, i.e. the first frame called by the event loop's dispatch
+     * method which isn't part of an event loop, e.g. a runAll* method or the method calling timer or daemon handlers.
+     *
+     * @param stack leaf first
+     * @return the handler's class or "none" if not in a handler
+     */
+    static String handlerOf(@NotNull StackTraceElement[] stack) {
+        for (int i = stack.length - 1; i > 0; i--) {
+            if (!isDispatch(stack[i]))
+                continue;
+            for (int handler = i - 1; handler >= 0; handler--) {
+                if (!LOOP_CLASSES.contains(stack[handler].getClassName()))
+                    return stack[handler].getClassName();
+            }
+            break;
+        }
+        return "none";
+    }
+
+    private static boolean isDispatch(StackTraceElement element) {
+        final String className = element.getClassName();
+        if (!className.startsWith(THREADS_PACKAGE))
+            return false;
+        final String method = element.getMethodName();
+        return method.startsWith("runAll")
+                || DISPATCH_METHODS.contains(method)
+                || method.equals("run") && className.equals(THREADS_PACKAGE + "BlockingEventLoop$Runner");
+    }
+
+    /**
+     * Removes and returns the collapsed stacks recorded since the last call, sorted by stack.
+     *
+     * @return one line per stack, weighted by the number of samples
+     */
+    public synchronized String drainCollapsed() {
+        if (stacks.isEmpty())
+            return "";
+        final StringBuilder out = new StringBuilder();
+        new TreeMap<>(stacks).forEach((stack, counts) -> out.append(stack).append(' ').append(counts[0]).append('\n'));
+        stacks.clear();
+        return out.toString();
+    }
+
+    /**
+     * Writes the stacks recorded since the last flush.
+     */
+    public void flush() {
+        final String collapsed;
+        final String summary;
+        synchronized (this) {
+            summary = "samples=" + samples + ", longest block=" + maxBlockedNS / 1_000_000 + " ms";
+            samples = 0;
+            maxBlockedNS = 0;
+            collapsed = drainCollapsed();
+        }
+        if (collapsed.isEmpty())
+            return;
+        if (FILE == null) {
+            Jvm.perf().on(BlockedStackAggregator.class, "Blocked event loop stacks, " + summary + "\n" + collapsed);
+            return;
+        }
+        try {
+            Files.write(Paths.get(FILE), collapsed.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            // logged rather than written, as every line of a collapsed stack file must be a stack
+            Jvm.perf().on(BlockedStackAggregator.class, "Blocked event loop stacks written to " + FILE + ", " + summary);
+        } catch (IOException e) {
+            Jvm.warn().on(BlockedStackAggregator.class, "Unable to write blocked stacks to " + FILE, e);
+        }
+    }
+}
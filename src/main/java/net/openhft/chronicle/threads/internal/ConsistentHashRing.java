@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.threads.internal;
+
+import java.util.Arrays;
+
+/**
+ * Maps keys to one of {@code nodes} nodes by consistent hashing, with virtual nodes to spread keys evenly.
+ * <p>
+ * Going from n to n + 1 nodes moves roughly 1/(n + 1) of the keys, all of them to the new node. Immutable and thread safe.
+ */
+public final class ConsistentHashRing {
+    static final int VIRTUAL_NODES = 64;
+
+    private final int nodes;
+    private final int[] pointHashes;
+    private final int[] pointNodes;
+
+    public ConsistentHashRing(int nodes) {
+        if (nodes < 1)
+            throw new IllegalArgumentException("nodes must be positive, was " + nodes);
+        this.nodes = nodes;
+        final long[] points = new long[nodes * VIRTUAL_NODES];
+        for (int node = 0, i = 0; node < nodes; node++) {
+            for (int v = 0; v < VIRTUAL_NODES; v++, i++) {
+                // the hash in the high bits, so sorting orders by hash, the node in the low bits
+                points[i] = ((long) mix(node * 0x9E3779B9 + v) << 32) | node;
+            }
+        }
+        Arrays.sort(points);
+        pointHashes = new int[points.length];
+        pointNodes = new int[points.length];
+        for (int i = 0; i < points.length; i++) {
+            pointHashes[i] = (int) (points[i] >> 32);
+            pointNodes[i] = (int) points[i];
+        }
+    }
+
+    /**
+     * Spreads a hash code so similar keys, e.g. sequential Integers, land far apart on the ring
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * @param key to place
+     * @return the node for the key, from 0 to {@link #nodes()} - 1
+     */
+    public int nodeFor(Object key) {
+        final int hash = mix(key.hashCode());
+        int index = Arrays.binarySearch(pointHashes, hash);
+        if (index < 0)
+            index = -index - 1;
+        if (index == pointHashes.length)
+            index = 0;
+        return pointNodes[index];
+    }
+
+    public int nodes() {
+        return nodes;
+    }
+}
@@ -40,6 +40,9 @@ public class EventLoopThreadHolder implements ThreadHolder {
 
     @Override
     public void reportFinished() {
+        // a loop closed on purpose, e.g. a concurrent loop retired as load fell, has not finished unexpectedly
+        if (eventLoop.isClosing())
+            return;
         Jvm.warn().on(getClass(), "Monitoring a task which has finished " + eventLoop);
     }
 
@@ -66,10 +69,21 @@ public class EventLoopThreadHolder implements ThreadHolder {
         double blockingTimeMS = blockingTimeNS / 100_000 / 10.0;
         if (blockingTimeMS <= 0.0)
             return;
-        eventLoop.dumpRunningState(eventLoop.name() + " thread has blocked for "
-                        + blockingTimeMS + " ms.",
+        if (BlockedStackAggregator.ENABLED) {
+            final Thread thread = eventLoop.thread();
+            if (thread != null) {
+                final StackTraceElement[] stack = thread.getStackTrace();
                 // check we are still in the loop.
-                () -> eventLoop.loopStartNS() == startedNS);
+                if (eventLoop.loopStartNS() == startedNS)
+                    BlockedStackAggregator.INSTANCE.record(thread.getName(), blockingTimeNS, stack);
+            }
+        } else if (Jvm.isPerfEnabled(eventLoop.getClass())) {
+            // only build the message and check if it will be logged, so monitoring doesn't create garbage
+            eventLoop.dumpRunningState(eventLoop.name() + " thread has blocked for "
+                            + blockingTimeMS + " ms.",
+                    // check we are still in the loop.
+                    () -> eventLoop.loopStartNS() == startedNS);
+        }
 
         printBlockTimeNS += intervalToAddNS;
         intervalToAddNS = (long) Math.min(1.41d * intervalToAddNS, 20d * monitorIntervalNS);
@@ -22,6 +22,16 @@ import net.openhft.chronicle.core.Jvm;
 public enum EventLoopUtil {
     ; // none
     private static final int DEFAULT_ACCEPT_HANDLER_MOD_COUNT = 128;
+    /**
+     * No longer used to pace accepting handlers, only a value of zero or less is still honoured, see {@link #ACCEPT_HANDLER_MAX_LATENCY_NS}
+     */
     public static final int ACCEPT_HANDLER_MOD_COUNT = Jvm.getInteger("eventloop.accept.mod", DEFAULT_ACCEPT_HANDLER_MOD_COUNT);
     public static final boolean IS_ACCEPT_HANDLER_MOD_COUNT = ACCEPT_HANDLER_MOD_COUNT > 0;
+    /**
+     * The default for how long a handler added to a busy event loop can wait before the loop accepts it.
+     * Disabling {@link #ACCEPT_HANDLER_MOD_COUNT} means busy loops never accept handlers, as before.
+     */
+    public static final long ACCEPT_HANDLER_MAX_LATENCY_NS = IS_ACCEPT_HANDLER_MOD_COUNT
+            ? Jvm.getLong("eventloop.accept.max.latency.us", 100L) * 1000
+            : Long.MAX_VALUE;
 }
@@ -81,6 +81,11 @@ public class ThreadsThreadHolder implements ThreadHolder {
     public void dumpThread(long startedNS, long nowNS) {
         long latencyNS = nowNS - startedNS;
         Thread thread = threadSupplier.get();
+        if (BlockedStackAggregator.ENABLED) {
+            BlockedStackAggregator.INSTANCE.record(thread.getName(), latencyNS, thread.getStackTrace());
+            lastTime = startedNS;
+            return;
+        }
 
         String type = (startedNS == lastTime) ? "re-reporting" : "new report";
         StringBuilder out = new StringBuilder()
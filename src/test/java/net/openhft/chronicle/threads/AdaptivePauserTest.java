@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.time.SetTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.threads.AdaptivePauser.Mode.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePauserTest extends ThreadsTestCommon {
+
+    @Test
+    void switchesModeWithLoadAndTimeOfDay() {
+        // midnight UTC
+        final SetTimeProvider timeProvider = new SetTimeProvider(0);
+        final AdaptivePauser pauser = new AdaptivePauser(timeProvider)
+                .busyRate(1_000)
+                .sleepyAfter(5, TimeUnit.SECONDS)
+                .window(1, TimeUnit.SECONDS)
+                .zone(ZoneOffset.UTC)
+                .during(LocalTime.of(0, 0, 20), LocalTime.of(0, 0, 30), BUSY);
+        pauser.pause();
+        assertEquals(BALANCED, pauser.mode());
+
+        for (int i = 0; i < 2_000; i++)
+            pauser.reset();
+        timeProvider.advanceMillis(1_000);
+        pauser.pause();
+        assertEquals(BUSY, pauser.mode());
+
+        // not long enough in a window to review the mode
+        pauser.reset();
+        timeProvider.advanceMillis(500);
+        pauser.pause();
+        assertEquals(BUSY, pauser.mode());
+
+        timeProvider.advanceMillis(500);
+        pauser.pause();
+        assertEquals(BALANCED, pauser.mode());
+
+        timeProvider.advanceMillis(5_000);
+        pauser.pause();
+        assertEquals(SLEEPY, pauser.mode());
+
+        // the rule applies from 20 s past midnight, even though idle
+        timeProvider.advanceMillis(14_000);
+        pauser.pause();
+        assertEquals(BUSY, pauser.mode());
+
+        timeProvider.advanceMillis(10_000);
+        pauser.pause();
+        assertEquals(SLEEPY, pauser.mode());
+
+        assertEquals(2, pauser.switchCount(BUSY));
+        assertEquals(1, pauser.switchCount(BALANCED));
+        assertEquals(2, pauser.switchCount(SLEEPY));
+    }
+
+    @Test
+    void ruleSpanningMidnight() {
+        final AdaptivePauser.TimeRule rule = new AdaptivePauser.TimeRule(
+                LocalTime.of(22, 0).toSecondOfDay(), LocalTime.of(6, 0).toSecondOfDay(), SLEEPY);
+        assertTrue(rule.matches(LocalTime.of(23, 0).toSecondOfDay()));
+        assertTrue(rule.matches(LocalTime.of(1, 0).toSecondOfDay()));
+        assertFalse(rule.matches(LocalTime.of(12, 0).toSecondOfDay()));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AffinityExecutorServiceTest extends ThreadsTestCommon {
+
+    @Test
+    void runsTasksFromManyThreads() throws Exception {
+        ExecutorService service = new AffinityExecutorFactory("none", () -> Pauser.millis(1)).acquireExecutorService("affinity-test", 4, true);
+        try {
+            AtomicInteger count = new AtomicInteger();
+            IntStream.range(0, 4).parallel().forEach(p -> {
+                for (int i = 0; i < 10_000; i++)
+                    service.execute(count::incrementAndGet);
+            });
+            Future<String> future = service.submit(() -> "done");
+            assertEquals("done", future.get(5, TimeUnit.SECONDS));
+
+            service.shutdown();
+            assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+            assertTrue(service.isTerminated());
+            assertEquals(40_000, count.get());
+            assertThrows(RejectedExecutionException.class, () -> service.execute(count::incrementAndGet));
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    @Test
+    void shutdownNowReturnsTasksNotRun() throws InterruptedException {
+        AffinityExecutorService service = new AffinityExecutorService("affinity-test", 1, true, "none", () -> Pauser.millis(1));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        service.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++)
+            service.execute(() -> fail("should not run"));
+
+        List<Runnable> notRun = service.shutdownNow();
+        assertEquals(10, notRun.size());
+        assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void queueIsBounded() {
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<>(6);
+        assertEquals(8, queue.capacity());
+        for (int i = 0; i < 8; i++)
+            assertTrue(queue.offer(i));
+        assertFalse(queue.offer(8));
+        assertEquals(8, queue.size());
+        for (int i = 0; i < 8; i++)
+            assertEquals(Integer.valueOf(i), queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+}
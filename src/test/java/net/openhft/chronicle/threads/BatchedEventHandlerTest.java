@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.testframework.Waiters;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchedEventHandlerTest extends ThreadsTestCommon {
+
+    @Test
+    void handlersShareTheBudgetOfAnIteration() {
+        final Consumer first = new Consumer(100_000);
+        final Probe second = new Probe(first);
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "batched", Pauser.busy(), true, null)) {
+            eventLoop.addHandler(first);
+            eventLoop.addHandler(second);
+            eventLoop.start();
+            Waiters.waitForCondition("first handler to finish", () -> second.offeredWhenIdle > 0, 5_000);
+        }
+        assertEquals(BatchedHandlerAdapter.BATCH_BUDGET, first.maxOffered);
+        // while the first handler uses up the budget, the second is still offered the minimum
+        assertEquals(BatchedHandlerAdapter.MIN_BATCH, second.maxOfferedWhileBusy);
+        assertEquals(BatchedHandlerAdapter.BATCH_BUDGET, second.offeredWhenIdle);
+    }
+
+    static final class Consumer implements BatchedEventHandler {
+        int remaining;
+        int maxOffered = 0;
+
+        Consumer(int remaining) {
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int action(int maxItems) {
+            maxOffered = Math.max(maxOffered, maxItems);
+            final int items = Math.min(maxItems, remaining);
+            remaining -= items;
+            return items;
+        }
+    }
+
+    static final class Probe implements BatchedEventHandler {
+        private final Consumer busy;
+        int maxOfferedWhileBusy = 0;
+        volatile int offeredWhenIdle = 0;
+
+        Probe(Consumer busy) {
+            this.busy = busy;
+        }
+
+        @Override
+        public int action(int maxItems) {
+            if (busy.remaining > 0)
+                maxOfferedWhileBusy = Math.max(maxOfferedWhileBusy, maxItems);
+            else if (offeredWhenIdle == 0)
+                offeredWhenIdle = maxItems;
+            return 0;
+        }
+    }
+}
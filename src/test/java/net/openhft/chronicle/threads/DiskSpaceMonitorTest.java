@@ -21,15 +21,22 @@ package net.openhft.chronicle.threads;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.onoes.ExceptionKey;
 import net.openhft.chronicle.core.time.SetTimeProvider;
+import net.openhft.chronicle.core.time.SystemTimeProvider;
+import net.openhft.chronicle.testframework.Waiters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 
 import java.io.File;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileAttributeView;
+import java.nio.file.attribute.FileStoreAttributeView;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class DiskSpaceMonitorTest extends ThreadsTestCommon {
@@ -89,4 +96,226 @@ public class DiskSpaceMonitorTest extends ThreadsTestCommon {
         Thread.sleep(1000);
     }
 
+    @Test
+    public void forecastsWhenTheDiskWillBeFull() throws Exception {
+        SetTimeProvider timeProvider = new SetTimeProvider();
+        DiskSpaceMonitor.INSTANCE.setTimeProvider(timeProvider);
+        try {
+            TestFileStore store = new TestFileStore(200L << 30, 100L << 30);
+            DiskSpaceMonitor.DiskAttributes da = DiskSpaceMonitor.INSTANCE.new DiskAttributes(store);
+            da.run();
+            assertEquals(Long.MAX_VALUE, da.millisToFull);
+
+            // idle, checked less often than 1 ms per MB free
+            timeProvider.advanceMillis(da.timeNextCheckedMS - timeProvider.currentTimeMillis());
+            da.run();
+            assertEquals(Long.MAX_VALUE, da.millisToFull);
+            assertTrue(da.timeNextCheckedMS - timeProvider.currentTimeMillis() > (100L << 10));
+
+            // 1 GB every 10 seconds, full in more than the horizon
+            for (int i = 0; i < 20; i++) {
+                timeProvider.advanceMillis(10_000);
+                da.timeNextCheckedMS = 0;
+                store.unallocated -= 1L << 30;
+                da.run();
+            }
+            assertTrue(da.millisToFull > DiskSpaceMonitor.FORECAST_HORIZON_MS);
+            assertEquals(800_000, da.millisToFull, 100_000);
+
+            // 5 GB every 10 seconds, full in less than the horizon
+            expectException("is projected to be full in");
+            for (int i = 0; i < 10; i++) {
+                timeProvider.advanceMillis(10_000);
+                da.timeNextCheckedMS = 0;
+                store.unallocated -= 5L << 30;
+                da.run();
+            }
+            assertTrue(da.millisToFull < DiskSpaceMonitor.FORECAST_HORIZON_MS);
+        } finally {
+            DiskSpaceMonitor.INSTANCE.setTimeProvider(SystemTimeProvider.INSTANCE);
+        }
+    }
+
+    @Test
+    public void aHungDiskDoesNotDelayTheOthers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        TestFileStore hung = new TestFileStore(200L << 30, 100L << 30) {
+            @Override
+            public long getUnallocatedSpace() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getUnallocatedSpace();
+            }
+
+            @Override
+            public String toString() {
+                return "hung";
+            }
+        };
+        TestFileStore fast = new TestFileStore(200L << 30, 100L << 30);
+        DiskSpaceMonitor monitor = DiskSpaceMonitor.INSTANCE;
+        monitor.diskAttributesMap.put(hung, monitor.new DiskAttributes(hung));
+        monitor.diskAttributesMap.put(fast, monitor.new DiskAttributes(fast));
+        try {
+            monitor.run();
+            Waiters.waitForCondition("fast disk checked", () -> monitor.lastCheckLatencyNS(fast) >= 0, 5_000);
+            assertFalse(monitor.isDegraded(fast));
+            assertEquals(-1, monitor.lastCheckLatencyNS(hung));
+
+            expectException("marking it as degraded");
+            Thread.sleep(DiskSpaceMonitor.CHECK_TIMEOUT_NS / 1_000_000 + 100);
+            monitor.run();
+            assertTrue(monitor.isDegraded(hung));
+
+            release.countDown();
+            Waiters.waitForCondition("hung disk checked", () -> !monitor.isDegraded(hung), 5_000);
+            assertTrue(monitor.lastCheckLatencyNS(hung) >= DiskSpaceMonitor.CHECK_TIMEOUT_NS);
+            assertEquals(monitor.lastCheckLatencyNS(hung), monitor.maxCheckLatencyNS(hung));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void reservationsLeaveHeadroomForEachOther() throws Exception {
+        TestFileStore store = new TestFileStore(200L << 30, 1L << 30);
+        DiskSpaceMonitor.DiskAttributes da = DiskSpaceMonitor.INSTANCE.new DiskAttributes(store);
+        da.run();
+
+        DiskSpaceReservation first = da.reserve(500L << 20);
+        assertTrue(first.canMap(800L << 20));
+        DiskSpaceReservation second = da.reserve(300L << 20);
+        assertFalse(first.canMap(800L << 20));
+        assertTrue(first.canMap(500L << 20));
+        assertTrue(second.canMap(300L << 20));
+        assertFalse(second.canMap(400L << 20));
+
+        first.close();
+        assertTrue(first.isClosed());
+        assertTrue(second.canMap(800L << 20));
+        second.close();
+        assertEquals(0, da.reservedBytes.get());
+    }
+
+    @Test
+    public void mappedBytesCountUntilTheDiskIsCheckedAgain() throws Exception {
+        TestFileStore store = new TestFileStore(2L << 30, 1L << 30);
+        DiskSpaceMonitor.DiskAttributes da = DiskSpaceMonitor.INSTANCE.new DiskAttributes(store);
+        da.run();
+        assertTrue(da.timeNextCheckedMS > 0);
+
+        DiskSpaceReservation reservation = da.reserve(100L << 20);
+        assertTrue(reservation.canMap(700L << 20));
+        reservation.mapped(300L << 20);
+        assertFalse(reservation.canMap(700L << 20));
+        // more than the headroom was mapped, so the disk is due to be checked
+        assertEquals(0, da.timeNextCheckedMS);
+
+        store.unallocated = 724L << 20;
+        da.run();
+        assertEquals(0, da.mappedBytes.get());
+        assertTrue(reservation.canMap(500L << 20));
+        assertFalse(reservation.canMap(600L << 20));
+        reservation.close();
+    }
+
+    @Test
+    public void reservationIsPendingUntilTheDiskIsObserved() throws Exception {
+        File dir = Files.createTempDirectory("pending").toFile();
+        try (DiskSpaceReservation reservation = DiskSpaceMonitor.INSTANCE.reserve(dir, 1 << 20)) {
+            Waiters.waitForCondition("disk observed", () -> !reservation.isPending(), 5_000);
+        } finally {
+            assertTrue(dir.delete());
+        }
+    }
+
+    @Test
+    public void reserveFileIsReleasedWhenTheDiskIsAlmostFull() throws Exception {
+        File dir = Files.createTempDirectory("reserve").toFile();
+        try {
+            File reserve = DiskSpaceMonitor.INSTANCE.preallocateReserve(dir, 3 << 20);
+            assertEquals(3 << 20, reserve.length());
+
+            TestFileStore store = new TestFileStore(200L << 30, 100L << 20);
+            DiskSpaceMonitor.DiskAttributes da = DiskSpaceMonitor.INSTANCE.new DiskAttributes(store);
+            da.reserveFiles.add(reserve);
+            expectException("Released 3 MB reserved in");
+            expectException("is almost full, warning: the JVM may crash");
+            da.run();
+            assertFalse(reserve.exists());
+            assertTrue(da.reserveFiles.isEmpty());
+        } finally {
+            for (File file : dir.listFiles())
+                assertTrue(file.delete());
+            assertTrue(dir.delete());
+        }
+    }
+
+    static class TestFileStore extends FileStore {
+        final long total;
+        long unallocated;
+
+        TestFileStore(long total, long unallocated) {
+            this.total = total;
+            this.unallocated = unallocated;
+        }
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public String type() {
+            return "test";
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+        @Override
+        public long getTotalSpace() {
+            return total;
+        }
+
+        @Override
+        public long getUsableSpace() {
+            return unallocated;
+        }
+
+        @Override
+        public long getUnallocatedSpace() {
+            return unallocated;
+        }
+
+        @Override
+        public boolean supportsFileAttributeView(Class<? extends FileAttributeView> type) {
+            return false;
+        }
+
+        @Override
+        public boolean supportsFileAttributeView(String name) {
+            return false;
+        }
+
+        @Override
+        public <V extends FileStoreAttributeView> V getFileStoreAttributeView(Class<V> type) {
+            return null;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "test";
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElasticConcurrencyMonitorTest extends ThreadsTestCommon {
+
+    @Timeout(20)
+    @Test
+    void growsWhenBusyAndShrinksWhenIdle() {
+        final AtomicBoolean busy = new AtomicBoolean(true);
+        final List<TestEventHandlers.CountingHandler> handlers = new ArrayList<>();
+        try (EventGroup eventGroup = EventGroup.builder()
+                .withElasticConcurrentThreads(1, 2)
+                .withConcurrentPauserSupplier(() -> new LongPauser(0, 0, 100, 100, TimeUnit.MICROSECONDS))
+                .build()) {
+            eventGroup.start();
+            ElasticConcurrencyMonitor monitor = new ElasticConcurrencyMonitor(eventGroup, 1, 2,
+                    10, TimeUnit.MILLISECONDS, 75, 25, 2);
+            assertEquals(1, eventGroup.activeConcThreads());
+
+            for (int i = 0; i < 2; i++)
+                addBusyHandler(eventGroup, busy, handlers);
+
+            while (eventGroup.activeConcThreads() < 2) {
+                monitor.action();
+                Jvm.pause(10);
+            }
+            assertNotNull(eventGroup.concThread(1));
+            // spread over both loops
+            for (int i = 0; i < 2; i++)
+                addBusyHandler(eventGroup, busy, handlers);
+
+            busy.set(false);
+            while (eventGroup.activeConcThreads() > 1) {
+                monitor.action();
+                Jvm.pause(10);
+            }
+            assertNull(eventGroup.concThread(1));
+
+            // every handler is still running, on the remaining loop
+            for (TestEventHandlers.CountingHandler handler : handlers) {
+                int before = handler.actionCalled();
+                while (handler.actionCalled() == before)
+                    Jvm.pause(1);
+                assertEquals(0, handler.closeCalled());
+                assertEquals(handler.loopStartedCalled(), handler.loopFinishedCalled() + 1);
+            }
+        }
+    }
+
+    @Test
+    void retiredLoopIsClosedAndItsSlotReused() throws Exception {
+        try (EventGroup eventGroup = EventGroup.builder()
+                .withElasticConcurrentThreads(1, 2)
+                .build()) {
+            eventGroup.start();
+            eventGroup.growConcThreads();
+            VanillaEventLoop loop = eventGroup.concThread(1);
+            assertNotNull(loop);
+
+            eventGroup.shrinkConcThreads().get(5, TimeUnit.SECONDS);
+            assertNull(eventGroup.concThread(1));
+            assertTrue(loop.isClosed());
+
+            eventGroup.growConcThreads();
+            assertNotNull(eventGroup.concThread(1));
+            assertNotSame(loop, eventGroup.concThread(1));
+        }
+    }
+
+    private static void addBusyHandler(EventGroup eventGroup, AtomicBoolean busy, List<TestEventHandlers.CountingHandler> handlers) {
+        TestEventHandlers.CountingHandler handler = new TestEventHandlers.CountingHandler(HandlerPriority.CONCURRENT) {
+            @Override
+            public boolean action() {
+                super.action();
+                return busy.get();
+            }
+        };
+        handlers.add(handler);
+        eventGroup.addHandler(handler);
+    }
+
+    @Test
+    void thresholdsMustNotOverlap() {
+        try (EventGroup eventGroup = EventGroup.builder().build()) {
+            assertThrows(IllegalArgumentException.class, () -> new ElasticConcurrencyMonitor(eventGroup, 1, 2,
+                    10, TimeUnit.MILLISECONDS, 50, 50, 2));
+        }
+    }
+}
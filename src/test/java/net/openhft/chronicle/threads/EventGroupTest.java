@@ -33,6 +33,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.Closeable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadLocalRandom;
@@ -120,6 +121,48 @@ public class EventGroupTest extends ThreadsTestCommon {
         }
     }
 
+    @Timeout(5)
+    @Test
+    public void groupedConcurrentHandlersShareALoop() throws InterruptedException {
+        try (final EventLoop eventGroup = EventGroup.builder()
+                .withConcurrentThreadsNum(4)
+                .build()) {
+            eventGroup.start();
+            final Map<Object, Set<Thread>> threadsByKey = new ConcurrentHashMap<>();
+            final CountDownLatch ran = new CountDownLatch(20);
+            final Object[] keys = {"session-0", "session-1", "session-2", "session-3", "session-4"};
+            for (int i = 0; i < 20; i++) {
+                final Object key = keys[i % keys.length];
+                eventGroup.addHandler(new GroupedEventHandler() {
+                    boolean first = true;
+
+                    @Override
+                    public @NotNull Object groupKey() {
+                        return key;
+                    }
+
+                    @Override
+                    public @NotNull HandlerPriority priority() {
+                        return HandlerPriority.CONCURRENT;
+                    }
+
+                    @Override
+                    public boolean action() {
+                        if (first) {
+                            first = false;
+                            threadsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+                            ran.countDown();
+                        }
+                        return false;
+                    }
+                });
+            }
+            assertTrue(ran.await(4, TimeUnit.SECONDS));
+            assertEquals(5, threadsByKey.size());
+            threadsByKey.forEach((key, threads) -> assertEquals(1, threads.size(), key + " ran on " + threads));
+        }
+    }
+
     @Timeout(5)
     @Test
     public void testClosePausedBlockingEventLoop() {
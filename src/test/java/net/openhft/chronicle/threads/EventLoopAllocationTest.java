@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.testframework.Waiters;
+import net.openhft.chronicle.threads.internal.EventLoopThreadHolder;
+import net.openhft.chronicle.threads.internal.ThreadMonitorHarness;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the event loops, pausers and monitors allocate nothing once warmed up, with logging disabled.
+ * <p>
+ * The bytes allocated by a loop's thread are measured over a window of iterations. One-off allocations,
+ * e.g. class loading, are tolerated by retrying, but anything allocated on every iteration fails every window.
+ */
+class EventLoopAllocationTest extends ThreadsTestCommon {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final long WARM_UP = 20_000;
+    private static final long ITERATIONS = 10_000;
+    private static final int ATTEMPTS = 5;
+    private int originalMonitorDelay;
+
+    @BeforeEach
+    void checkSupported() {
+        assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled())
+            THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        originalMonitorDelay = MonitorEventLoop.MONITOR_INITIAL_DELAY_MS;
+        MonitorEventLoop.MONITOR_INITIAL_DELAY_MS = 0;
+    }
+
+    @AfterEach
+    void restoreMonitorDelay() {
+        MonitorEventLoop.MONITOR_INITIAL_DELAY_MS = originalMonitorDelay;
+    }
+
+    /**
+     * parks for a microsecond every other iteration, to cover the pause and reset paths
+     */
+    private static LongPauser parkingPauser() {
+        return new LongPauser(0, 0, 1, 1, TimeUnit.MICROSECONDS);
+    }
+
+    @Test
+    void mediumEventLoop() {
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "medium", parkingPauser(), true, null)) {
+            final ProbeHandler probe = new ProbeHandler(HandlerPriority.MEDIUM);
+            eventLoop.addHandler(new ProbeHandler(HandlerPriority.HIGH));
+            eventLoop.addHandler(probe);
+            eventLoop.addHandler(new ProbeHandler(HandlerPriority.MEDIUM));
+            eventLoop.start();
+            assertNoGarbage("MediumEventLoop", probe);
+        }
+    }
+
+    @Test
+    void vanillaEventLoop() {
+        try (VanillaEventLoop eventLoop = new VanillaEventLoop(null, "vanilla", parkingPauser(), 1, true, null,
+                EnumSet.of(HandlerPriority.MEDIUM, HandlerPriority.TIMER, HandlerPriority.DAEMON))) {
+            final ProbeHandler probe = new ProbeHandler(HandlerPriority.MEDIUM);
+            eventLoop.addHandler(probe);
+            eventLoop.addHandler(new ProbeHandler(HandlerPriority.DAEMON));
+            eventLoop.addHandler(new TimedEventHandler() {
+                @Override
+                protected long timedAction() {
+                    return 100;
+                }
+            });
+            eventLoop.start();
+            assertNoGarbage("VanillaEventLoop", probe);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void monitorEventLoop() {
+        final LongPauser monitoredPauser = parkingPauser();
+        try (MediumEventLoop monitored = new MediumEventLoop(null, "monitored", monitoredPauser, true, null);
+             MonitorEventLoop monitor = new MonitorEventLoop(null, "monitor", parkingPauser())) {
+            monitored.addHandler(new ProbeHandler(HandlerPriority.MEDIUM));
+            monitored.start();
+            final ProbeHandler probe = new ProbeHandler(HandlerPriority.MONITOR);
+            monitor.addHandler(probe);
+            monitor.addHandler(new PauserMonitor(monitoredPauser, "monitored", 1));
+            monitor.addHandler(new ThreadMonitorHarness(new EventLoopThreadHolder(TimeUnit.MILLISECONDS.toNanos(100), monitored)));
+            monitor.start();
+            assertNoGarbage("MonitorEventLoop", probe);
+        }
+    }
+
+    private static void assertNoGarbage(String description, ProbeHandler probe) {
+        Waiters.waitForCondition(description + " to warm up", () -> probe.iterations > WARM_UP, 60_000);
+        final long threadId = probe.thread.getId();
+        double bytesPerIteration = 0;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            final long startBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+            final long startIterations = probe.iterations;
+            Waiters.waitForCondition(description + " to iterate", () -> probe.iterations - startIterations >= ITERATIONS, 60_000);
+            final long bytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - startBytes;
+            if (bytes == 0)
+                return;
+            bytesPerIteration = (double) bytes / (probe.iterations - startIterations);
+        }
+        fail(description + " allocated " + bytesPerIteration + " bytes per iteration");
+    }
+
+    static final class ProbeHandler implements EventHandler {
+        private final HandlerPriority priority;
+        volatile Thread thread;
+        volatile long iterations = 0;
+
+        ProbeHandler(HandlerPriority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean action() {
+            if (thread == null)
+                thread = Thread.currentThread();
+            // only written by one thread
+            final long i = iterations + 1;
+            iterations = i;
+            return (i & 1) == 0;
+        }
+
+        @NotNull
+        @Override
+        public HandlerPriority priority() {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.testframework.Waiters;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopChannelTest extends ThreadsTestCommon {
+
+    static final class Message {
+        long value;
+    }
+
+    @Test
+    void deliversInOrderAndReusesSlots() {
+        // a sleepy pauser, so the consumer relies on being unpaused
+        try (MediumEventLoop consumerLoop = new MediumEventLoop(null, "consumer", Pauser.millis(100), true, "none")) {
+            AtomicLong received = new AtomicLong();
+            AtomicLong outOfOrder = new AtomicLong();
+            EventLoopChannel<Message> channel = EventLoopChannel.create(64, Message::new, consumerLoop, m -> {
+                if (m.value != received.get())
+                    outOfOrder.incrementAndGet();
+                received.incrementAndGet();
+            });
+            assertEquals(64, channel.capacity());
+            consumerLoop.start();
+
+            long start = System.currentTimeMillis();
+            for (long i = 0; i < 100_000; i++) {
+                Message m;
+                while ((m = channel.claim()) == null)
+                    Thread.yield();
+                m.value = i;
+                channel.publish();
+            }
+            Waiters.waitForCondition("all received", () -> received.get() == 100_000, 5_000);
+            assertEquals(0, outOfOrder.get());
+            assertEquals(0, channel.size());
+            // not waiting for the 100 ms pauser each time the consumer goes idle
+            assertTrue(System.currentTimeMillis() - start < 5_000);
+
+            channel.close();
+            assertTrue(channel.isClosed());
+        }
+    }
+
+    @Test
+    void claimReturnsNullWhenFull() {
+        try (MediumEventLoop consumerLoop = new MediumEventLoop(null, "consumer", Pauser.millis(1), true, "none")) {
+            EventLoopChannel<Message> channel = EventLoopChannel.create(3, Message::new, consumerLoop, m -> {
+            });
+            assertEquals(4, channel.capacity());
+            Message first = channel.claim();
+            assertNotNull(first);
+            assertSame(first, channel.claim());
+            for (int i = 0; i < 4; i++) {
+                assertNotNull(channel.claim());
+                channel.publish();
+            }
+            assertNull(channel.claim());
+            assertEquals(4, channel.size());
+
+            consumerLoop.start();
+            Waiters.waitForCondition("drained", () -> channel.size() == 0, 5_000);
+            assertSame(first, channel.claim());
+        }
+    }
+}
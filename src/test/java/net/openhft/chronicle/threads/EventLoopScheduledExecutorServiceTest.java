@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLoopScheduledExecutorServiceTest extends ThreadsTestCommon {
+    private VanillaEventLoop eventLoop;
+
+    @BeforeEach
+    void startLoop() {
+        eventLoop = new VanillaEventLoop(null, "timer", Pauser.millis(1), 1, true, "none", EnumSet.of(HandlerPriority.TIMER));
+        eventLoop.start();
+    }
+
+    @AfterEach
+    void closeLoop() {
+        eventLoop.close();
+    }
+
+    @Test
+    void schedulesCallable() throws Exception {
+        ScheduledExecutorService ses = new EventLoopScheduledExecutorService("test", eventLoop);
+        long start = System.nanoTime();
+        ScheduledFuture<String> future = ses.schedule(() -> "done", 20, TimeUnit.MILLISECONDS);
+        assertEquals("done", future.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(future.isDone());
+        ses.shutdown();
+        assertTrue(ses.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void runsPeriodicUntilCancelled() throws Exception {
+        ScheduledExecutorService ses = new EventLoopScheduledExecutorService("test", eventLoop);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch fiveRuns = new CountDownLatch(5);
+        ScheduledFuture<?> future = ses.scheduleAtFixedRate(() -> {
+            runs.incrementAndGet();
+            fiveRuns.countDown();
+        }, 0, 2, TimeUnit.MILLISECONDS);
+        assertTrue(fiveRuns.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(false));
+        assertThrows(CancellationException.class, future::get);
+        ses.shutdownNow();
+        assertTrue(ses.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executeAndSubmit() throws Exception {
+        ScheduledExecutorService ses = new EventLoopScheduledExecutorService("test", eventLoop);
+        CountDownLatch ran = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++)
+            ses.execute(ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(42, (int) ses.submit(() -> 42).get(5, TimeUnit.SECONDS));
+
+        Future<?> failed = ses.schedule(() -> {
+            throw new IllegalStateException("expected");
+        }, 0, TimeUnit.MILLISECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        ses.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> ses.execute(() -> {
+        }));
+    }
+
+    @Test
+    void shutdownCancelsPeriodicButRunsDelayed() throws Exception {
+        EventLoopScheduledExecutorService ses = new EventLoopScheduledExecutorService("test", eventLoop);
+        ScheduledFuture<?> periodic = ses.scheduleWithFixedDelay(() -> {
+        }, 1, 1, TimeUnit.MILLISECONDS);
+        ScheduledFuture<Integer> delayed = ses.schedule(() -> 1, 20, TimeUnit.MILLISECONDS);
+        ses.shutdown();
+        assertEquals(1, (int) delayed.get(5, TimeUnit.SECONDS));
+        assertTrue(ses.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(periodic.isCancelled());
+        assertTrue(ses.isTerminated());
+    }
+
+    @Test
+    void terminatesWhenLoopCloses() throws InterruptedException {
+        EventLoopScheduledExecutorService ses = new EventLoopScheduledExecutorService("test", eventLoop);
+        eventLoop.close();
+        assertTrue(ses.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(ses.isShutdown());
+    }
+}
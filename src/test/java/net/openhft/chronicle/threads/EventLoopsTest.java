@@ -31,8 +31,11 @@ import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
@@ -66,6 +69,44 @@ public class EventLoopsTest extends ThreadsTestCommon {
         }
     }
 
+    @Timeout(5_000)
+    @Test
+    public void stopAllStopsEventLoopsConcurrently() {
+        List<MediumEventLoop> loops = new ArrayList<>();
+        try {
+            for (int i = 0; i < 16; i++) {
+                MediumEventLoop loop = new MediumEventLoop(null, "slow-to-stop-" + i, Pauser.millis(1), true, "none");
+                loop.addHandler(new EventHandler() {
+                    @Override
+                    public boolean action() {
+                        return false;
+                    }
+
+                    @Override
+                    public void loopFinished() {
+                        Jvm.pause(200);
+                    }
+                });
+                loop.start();
+                loops.add(loop);
+            }
+            CompletableFuture<?>[] terminated = loops.stream()
+                    .map(AbstractLifecycleEventLoop::terminationFuture)
+                    .toArray(CompletableFuture<?>[]::new);
+            assertFalse(CompletableFuture.allOf(terminated).isDone());
+
+            long start = System.currentTimeMillis();
+            EventLoops.stopAll(loops);
+            long took = System.currentTimeMillis() - start;
+            // one at a time would take 3.2 seconds
+            assertTrue(took < 1_600, "took " + took + " ms");
+            assertTrue(CompletableFuture.allOf(terminated).isDone());
+            loops.forEach(loop -> assertTrue(loop.isStopped()));
+        } finally {
+            loops.forEach(MediumEventLoop::close);
+        }
+    }
+
     private static void doTest(BlockingEventLoop blockingEventLoop, MediumEventLoop mediumEventLoop) {
         blockingEventLoop.start();
         mediumEventLoop.start();
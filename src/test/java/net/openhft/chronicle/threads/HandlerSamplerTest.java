@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.core.threads.InvalidEventHandlerException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandlerSamplerTest extends ThreadsTestCommon {
+
+    @Test
+    void countsTheHandlerTheLoopIsRunning() throws InterruptedException {
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "sampled", Pauser.millis(1), true, null)) {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            EventHandler slow = () -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InvalidEventHandlerException(e);
+                }
+                throw InvalidEventHandlerException.reusable();
+            };
+            eventLoop.addHandler(slow);
+            eventLoop.start();
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            HandlerSampler sampler = new HandlerSampler(eventLoop, 0, 0);
+            for (int i = 0; i < 10; i++)
+                sampler.sample();
+            release.countDown();
+
+            assertEquals(10, sampler.samples(slow));
+            assertEquals(0, sampler.idleSamples());
+            assertEquals(10, sampler.totalSamples());
+            assertTrue(sampler.toString().contains("=100.0%"), sampler.toString());
+
+            sampler.reset();
+            assertEquals(0, sampler.totalSamples());
+            assertEquals(0, sampler.samples(slow));
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package net.openhft.chronicle.threads;
 
+import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.io.InvalidMarshallableException;
 import net.openhft.chronicle.core.threads.EventHandler;
 import net.openhft.chronicle.core.threads.HandlerPriority;
@@ -28,6 +29,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import static net.openhft.chronicle.threads.TestEventHandlers.*;
@@ -92,6 +95,132 @@ class MediumEventLoopTest extends ThreadsTestCommon {
         }
     }
 
+    @Test
+    void fullPendingHandlersFailFastOrFallBack() throws InterruptedException {
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "name", Pauser.balanced(), true, null);
+             MediumEventLoop fallback = new MediumEventLoop(null, "fallback", Pauser.balanced(), true, null)) {
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            eventLoop.addHandler(() -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InvalidEventHandlerException(e);
+                }
+                return false;
+            });
+            eventLoop.start();
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            eventLoop.pendingHandlerPolicy(PendingHandlerPolicy.FAIL_FAST, null);
+            int capacity = eventLoop.pendingHandlers().capacity();
+            for (int i = 0; i < capacity; i++)
+                eventLoop.addHandler(new NoOpHandler());
+            assertEquals(capacity, eventLoop.pendingHandlers().size());
+            assertThrows(RejectedExecutionException.class, () -> eventLoop.addHandler(new NoOpHandler()));
+
+            eventLoop.pendingHandlerPolicy(PendingHandlerPolicy.FALLBACK, fallback);
+            eventLoop.addHandler(new NoOpHandler());
+            assertEquals(1, fallback.mediumHandlersArray.length);
+
+            release.countDown();
+            Waiters.waitForCondition("Pending handlers accepted", eventLoop.pendingHandlers()::isEmpty, 5000);
+            assertEquals(capacity, eventLoop.pendingHandlers().acceptedCount());
+            assertTrue(eventLoop.pendingHandlers().maxAcceptLatencyNS() > 0);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void fullPendingHandlersOverflowByDefault() throws InterruptedException {
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "name", Pauser.balanced(), true, null)) {
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            eventLoop.addHandler(() -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InvalidEventHandlerException(e);
+                }
+                return false;
+            });
+            eventLoop.start();
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            int capacity = eventLoop.pendingHandlers().capacity();
+            for (int i = 0; i <= capacity; i++)
+                eventLoop.addHandler(new NoOpHandler());
+            assertEquals(capacity, eventLoop.pendingHandlers().size());
+            assertEquals(1, eventLoop.newHandlers.size());
+            assertTrue(eventLoop.hasPendingHandlers());
+
+            release.countDown();
+            Waiters.waitForCondition("Pending handlers accepted", () -> !eventLoop.hasPendingHandlers(), 5000);
+            assertEquals(capacity + 2, eventLoop.mediumHandlersArray.length);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    void busyLoopWaitsForMaxLatencyBeforeAcceptingOverflow() throws InterruptedException {
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "name", Pauser.balanced(), true, null)) {
+            eventLoop.acceptHandlerMaxLatency(1, TimeUnit.HOURS);
+            CountDownLatch blocked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicBoolean busy = new AtomicBoolean(true);
+            eventLoop.addHandler(() -> {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InvalidEventHandlerException(e);
+                }
+                return busy.get();
+            });
+            eventLoop.start();
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+            int capacity = eventLoop.pendingHandlers().capacity();
+            for (int i = 0; i <= capacity; i++)
+                eventLoop.addHandler(new NoOpHandler());
+            assertEquals(1, eventLoop.newHandlers.size());
+
+            release.countDown();
+            Jvm.pause(50);
+            // busy, and the oldest hasn't waited an hour
+            assertTrue(eventLoop.hasPendingHandlers());
+
+            busy.set(false);
+            Waiters.waitForCondition("Pending handlers accepted", () -> !eventLoop.hasPendingHandlers(), 5000);
+            assertEquals(capacity + 2, eventLoop.mediumHandlersArray.length);
+        }
+    }
+
+    @Test
+    void busyLoopAcceptsHandlersWithinMaxLatency() {
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "name", Pauser.balanced(), true, null)) {
+            eventLoop.acceptHandlerMaxLatency(1, TimeUnit.MILLISECONDS);
+            eventLoop.addHandler(() -> {
+                Jvm.pause(1);
+                return true;
+            });
+            eventLoop.start();
+            Waiters.waitForCondition("Event loop started", eventLoop::isAlive, 5000);
+
+            for (int i = 0; i < 5; i++)
+                eventLoop.addHandler(new NoOpHandler());
+            Waiters.waitForCondition("Pending handlers accepted", eventLoop.pendingHandlers()::isEmpty, 5000);
+            // with a fixed count of 128 iterations this took over 128 ms
+            assertTrue(eventLoop.pendingHandlers().maxAcceptLatencyNS() < TimeUnit.MILLISECONDS.toNanos(50),
+                    eventLoop.pendingHandlers().toString());
+        }
+    }
+
     void addingHandlerBeforeStart(CountingHandler handler) {
         try (MediumEventLoop eventLoop = new MediumEventLoop(null, "name", Pauser.balanced(), true, null)) {
 
@@ -198,7 +327,7 @@ class MediumEventLoopTest extends ThreadsTestCommon {
             Waiters.waitForCondition("Handler should be removed", () -> (eventLoop.handlerCount() == 0), 5000);
 
             assertTrue(eventLoop.isAlive());
-            assertTrue(eventLoop.newHandlers.isEmpty());
+            assertTrue(eventLoop.pendingHandlers.isEmpty());
 
             // Exceptions should be thrown.
             assertExceptionThrown(HANDLER_LOOP_STARTED_EXCEPTION_TXT);
@@ -298,6 +427,66 @@ class MediumEventLoopTest extends ThreadsTestCommon {
         ExecutorServiceUtil.shutdownAndWaitForTermination(es);
     }
 
+    @Test
+    void transferMovesARunningHandlerWithoutClosingIt() throws Exception {
+        try (MediumEventLoop source = new MediumEventLoop(null, "source", Pauser.balanced(), true, null);
+             MediumEventLoop target = new MediumEventLoop(null, "target", Pauser.balanced(), true, null)) {
+            source.start();
+            target.start();
+            final ThreadRecordingHandler handler = new ThreadRecordingHandler();
+            source.addHandler(handler);
+            Waiters.waitForCondition("running on source", () -> handler.lastThread == source.thread(), 5_000);
+
+            assertTrue(source.transfer(handler, target).get(5, TimeUnit.SECONDS));
+            Waiters.waitForCondition("running on target", () -> handler.lastThread == target.thread(), 5_000);
+
+            assertEquals(0, source.handlerCount());
+            assertEquals(1, target.handlerCount());
+            assertEquals(1, handler.loopFinishedCalled());
+            assertEquals(2, handler.loopStartedCalled());
+            assertEquals(0, handler.closeCalled());
+            assertFalse(handler.overlapped);
+
+            // no longer on the source
+            assertFalse(source.transfer(handler, target).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void transferBeforeStart() throws Exception {
+        try (MediumEventLoop source = new MediumEventLoop(null, "source", Pauser.balanced(), true, null);
+             MediumEventLoop target = new MediumEventLoop(null, "target", Pauser.balanced(), true, null)) {
+            final CountingHandler handler = new CountingHandler(HandlerPriority.HIGH);
+            source.addHandler(handler);
+            assertTrue(source.transfer(handler, target).get(5, TimeUnit.SECONDS));
+            assertEquals(0, source.handlerCount());
+            assertEquals(1, target.handlerCount());
+            assertEquals(0, handler.loopFinishedCalled());
+            target.start();
+            Waiters.waitForCondition("running on target", () -> handler.actionCalled() > 0, 5_000);
+        }
+    }
+
+    private static final class ThreadRecordingHandler extends CountingHandler {
+        private final AtomicInteger running = new AtomicInteger();
+        volatile Thread lastThread;
+        volatile boolean overlapped = false;
+
+        ThreadRecordingHandler() {
+            super(HandlerPriority.MEDIUM);
+        }
+
+        @Override
+        public boolean action() {
+            if (running.incrementAndGet() > 1)
+                overlapped = true;
+            lastThread = Thread.currentThread();
+            super.action();
+            running.decrementAndGet();
+            return false;
+        }
+    }
+
     private static class NoOpHandler implements EventHandler {
 
         @Override
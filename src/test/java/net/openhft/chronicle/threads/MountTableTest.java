@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MountTableTest extends ThreadsTestCommon {
+
+    private static final MountTable TABLE = MountTable.parse(Arrays.asList(
+            "22 1 259:2 / / rw,relatime shared:1 - ext4 /dev/nvme0n1p2 rw",
+            "25 22 0:22 / /proc rw,nosuid,nodev,noexec,relatime shared:12 - proc proc rw",
+            "40 22 259:3 / /data rw,relatime shared:20 - xfs /dev/nvme1n1 rw",
+            "41 22 259:3 /queues /var/lib/queues rw,relatime shared:20 - xfs /dev/nvme1n1 rw",
+            "42 22 0:45 / /mnt/with\\040space rw,relatime - tmpfs tmpfs rw",
+            "not a mount line"));
+
+    @Test
+    void parsesMounts() {
+        assertEquals(5, TABLE.size());
+    }
+
+    @Test
+    void mostSpecificMountWins() {
+        assertEquals("259:3", TABLE.mountFor("/data/queue/20240101.cq4").device);
+        assertEquals("/data", TABLE.mountFor("/data").mountPoint);
+        assertEquals("259:2", TABLE.mountFor("/database/file").device);
+        assertEquals("/", TABLE.mountFor("/tmp").mountPoint);
+    }
+
+    @Test
+    void bindMountsShareADevice() {
+        assertEquals(TABLE.mountFor("/data/queues/a").device, TABLE.mountFor("/var/lib/queues/a").device);
+        assertEquals("/var/lib/queues", TABLE.mountFor("/var/lib/queues/a").mountPoint);
+    }
+
+    @Test
+    void newMountChangesTheTable() {
+        MountTable root = MountTable.parse(Arrays.asList("22 1 259:2 / / rw,relatime shared:1 - ext4 /dev/nvme0n1p2 rw"));
+        assertEquals(root, MountTable.parse(Arrays.asList("22 1 259:2 / / rw,relatime shared:1 - ext4 /dev/nvme0n1p2 rw")));
+        assertNotEquals(root, TABLE);
+        assertEquals("259:2", root.mountFor("/data/file").device);
+    }
+
+    @Test
+    void unescapesMountPoints() {
+        assertEquals("0:45", TABLE.mountFor("/mnt/with space/file").device);
+        assertEquals("a\\b", MountTable.unescape("a\\134b"));
+        assertEquals("a\\x", MountTable.unescape("a\\x"));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.HandlerPriority;
+import net.openhft.chronicle.testframework.Waiters;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PauserGroupTest extends ThreadsTestCommon {
+
+    @Test
+    void quietOnceEveryMemberIsParked() {
+        PauserGroup group = new PauserGroup(0, 0, 1, 1, TimeUnit.MILLISECONDS);
+        assertFalse(group.isQuiet());
+        Pauser first = group.newPauser();
+        Pauser second = group.newPauser();
+
+        first.pause();
+        assertEquals(1, group.idleCount());
+        assertFalse(group.isQuiet());
+
+        second.pause();
+        assertTrue(group.isQuiet());
+
+        first.reset();
+        assertFalse(group.isQuiet());
+
+        group.remove(first);
+        assertTrue(group.isQuiet());
+    }
+
+    @Test
+    void unpauseBeforeParkIsOnlyKeptWhileIdle() {
+        PauserGroup group = new PauserGroup(0, 0, 50, 50, TimeUnit.MILLISECONDS);
+        Pauser pauser = group.newPauser();
+        // a stray unpause while busy doesn't cut the next park short
+        pauser.unpause();
+        long start = System.nanoTime();
+        pauser.pause();
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+
+        // once idle, an unpause before the next park is not lost
+        pauser.unpause();
+        start = System.nanoTime();
+        pauser.pause();
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void unpauseWakesOnlyMembersWithPendingWork() {
+        PauserGroup group = new PauserGroup(0, 0, 10, 10, TimeUnit.SECONDS);
+        AtomicBoolean work = new AtomicBoolean();
+        group.newPauser().pendingWork(work::get);
+        group.newPauser().pendingWork(() -> false);
+        group.newPauser();
+
+        assertEquals(1, group.unpause());
+        work.set(true);
+        assertEquals(2, group.unpause());
+    }
+
+    @Test
+    void eventGroupUsesGroup() {
+        PauserGroup group = PauserGroup.balanced();
+        try (EventGroup eg = EventGroup.builder().withPauserGroup(group).withConcurrentThreadsNum(1).build()) {
+            assertSame(group, eg.pauserGroup());
+            assertEquals(1, group.size());
+            eg.start();
+            TestEventHandlers.CountingHandler handler = new TestEventHandlers.CountingHandler(HandlerPriority.CONCURRENT);
+            eg.addHandler(handler);
+            assertEquals(2, group.size());
+            Waiters.waitForCondition("handler accepted", () -> handler.loopStartedCalled() > 0, 5_000);
+            // no loop has handlers waiting to be accepted
+            assertEquals(0, group.unpause());
+        }
+        assertEquals(0, group.size());
+    }
+}
@@ -73,6 +73,46 @@ public class PauserTest extends ThreadsTestCommon {
         doTest(Pauser.yielding());
     }
 
+    @Test
+    public void phaseStatisticsLongPauser() {
+        Pauser pauser = new LongPauser(20, 800, 200, 1_000, TimeUnit.MICROSECONDS);
+        PauserStatistics stats = new PauserStatistics();
+        assertEquals(0, pauser.phaseStatistics(stats).totalNS());
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        while (System.nanoTime() < end)
+            pauser.pause();
+        pauser.reset();
+        pauser.phaseStatistics(stats);
+        assertTrue(stats.spinCount() > 0, stats.toString());
+        assertTrue(stats.spinNS() > 0, stats.toString());
+        assertTrue(stats.yieldCount() > 0, stats.toString());
+        assertTrue(stats.parkCount() > 0, stats.toString());
+        assertTrue(stats.parkNS() >= stats.overshootNS(), stats.toString());
+    }
+
+    @Test
+    public void phaseStatisticsMillis() {
+        Pauser pauser = Pauser.millis(1);
+        PauserStatistics stats = new PauserStatistics();
+        for (int i = 0; i < 5; i++)
+            pauser.pause();
+        pauser.phaseStatistics(stats);
+        assertEquals(0, stats.spinCount());
+        assertEquals(5, stats.parkCount());
+        assertTrue(stats.parkNS() >= TimeUnit.MILLISECONDS.toNanos(5), stats.toString());
+    }
+
+    @Test
+    public void phaseStatisticsDelta() {
+        Pauser pauser = new YieldingPauser(2);
+        PauserStatistics first = pauser.phaseStatistics(new PauserStatistics());
+        for (int i = 0; i < 10; i++)
+            pauser.pause();
+        PauserStatistics second = pauser.phaseStatistics(new PauserStatistics());
+        PauserStatistics delta = new PauserStatistics().delta(second, first);
+        assertEquals(10, delta.spinCount() + delta.yieldCount());
+    }
+
     private void doTest(Pauser pauser) {
         doTest(pauser, 2000);
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.threads.EventHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingHandlerQueueTest extends ThreadsTestCommon {
+
+    @Test
+    void boundedFifoAcrossWrap() throws InterruptedException {
+        PendingHandlerQueue queue = new PendingHandlerQueue(3);
+        assertTrue(queue.isEmpty());
+        assertEquals(Long.MAX_VALUE, queue.oldestEnqueuedNS());
+        EventHandler a = noOp();
+        EventHandler b = noOp();
+        EventHandler c = noOp();
+        EventHandler d = noOp();
+
+        assertTrue(queue.offer(a));
+        long oldest = queue.oldestEnqueuedNS();
+        assertTrue(queue.offer(b));
+        assertTrue(queue.offer(c));
+        assertEquals(oldest, queue.oldestEnqueuedNS());
+        assertFalse(queue.offer(d));
+        assertFalse(queue.offer(d, 1, TimeUnit.MILLISECONDS));
+        assertEquals(3, queue.size());
+
+        assertSame(a, queue.poll());
+        assertTrue(queue.offer(d));
+        List<EventHandler> pending = new ArrayList<>();
+        queue.forEach(pending::add);
+        assertEquals(3, pending.size());
+        assertSame(b, pending.get(0));
+        assertSame(d, pending.get(2));
+
+        assertSame(b, queue.poll());
+        assertSame(c, queue.poll());
+        assertSame(d, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(Long.MAX_VALUE, queue.oldestEnqueuedNS());
+        assertEquals(4, queue.acceptedCount());
+        assertTrue(queue.maxAcceptLatencyNS() >= queue.averageAcceptLatencyNS());
+    }
+
+    @Test
+    void removeKeepsTheOrderAcrossWrap() {
+        PendingHandlerQueue queue = new PendingHandlerQueue(3);
+        EventHandler a = noOp();
+        EventHandler b = noOp();
+        EventHandler c = noOp();
+        EventHandler d = noOp();
+        assertTrue(queue.offer(a));
+        assertTrue(queue.offer(b));
+        assertSame(a, queue.poll());
+        assertTrue(queue.offer(c));
+        assertTrue(queue.offer(d));
+
+        assertSame(c, queue.remove(h -> h == c));
+        assertNull(queue.remove(h -> h == a));
+        assertEquals(2, queue.size());
+        assertEquals(1, queue.acceptedCount());
+        assertTrue(queue.offer(a));
+
+        assertSame(b, queue.remove(h -> h == b));
+        assertSame(d, queue.poll());
+        assertSame(a, queue.poll());
+        assertNull(queue.poll());
+        assertEquals(Long.MAX_VALUE, queue.oldestEnqueuedNS());
+    }
+
+    @Test
+    void clearWakesBlockedProducers() throws InterruptedException {
+        PendingHandlerQueue queue = new PendingHandlerQueue(1);
+        assertTrue(queue.offer(noOp()));
+        Thread producer = new Thread(() -> {
+            try {
+                queue.offer(noOp(), 10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        queue.clear();
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+        assertEquals(1, queue.size());
+    }
+
+    private static EventHandler noOp() {
+        return () -> false;
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new PendingHandlerQueue(0));
+    }
+}
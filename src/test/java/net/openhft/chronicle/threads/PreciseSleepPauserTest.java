@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.Jvm;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PreciseSleepPauserTest extends ThreadsTestCommon {
+
+    @Test
+    void calibratedOvershootIsNotNegative() {
+        assertTrue(PreciseSleepPauser.calibratedParkOvershootNS() >= 0);
+        assertTrue(new PreciseSleepPauser(0, 0, 1, 1, TimeUnit.MILLISECONDS).parkOvershootNS() >= 0);
+    }
+
+    @Test
+    void wakesNoEarlierThanRequested() {
+        final long pauseMicros = 500;
+        final PreciseSleepPauser pauser = new PreciseSleepPauser(0, 0, pauseMicros, pauseMicros, TimeUnit.MICROSECONDS);
+        for (int i = 0; i < 20; i++) {
+            final long start = System.nanoTime();
+            pauser.pause();
+            final long tookUs = (System.nanoTime() - start) / 1_000;
+            assertTrue(tookUs >= pauseMicros, "Took " + tookUs + " us");
+        }
+    }
+
+    @Test
+    void unpauseWhenNotPausingDoesNotCutTheNextPauseShort() {
+        final long pauseMicros = 500;
+        final PreciseSleepPauser pauser = new PreciseSleepPauser(0, 0, pauseMicros, pauseMicros, TimeUnit.MICROSECONDS);
+        for (int i = 0; i < 20; i++) {
+            pauser.unpause();
+            final long start = System.nanoTime();
+            pauser.pause();
+            final long tookUs = (System.nanoTime() - start) / 1_000;
+            assertTrue(tookUs >= pauseMicros, "Took " + tookUs + " us");
+        }
+    }
+
+    @Test
+    void unpauseStopsPausing() throws InterruptedException {
+        final int pauseMillis = 1_000;
+        final PreciseSleepPauser pauser = new PreciseSleepPauser(0, 0, pauseMillis, pauseMillis, TimeUnit.MILLISECONDS);
+        final CountDownLatch started = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            started.countDown();
+            pauser.pause();
+        });
+        thread.start();
+        started.await(50, TimeUnit.MILLISECONDS);
+        Jvm.pause(10);  // give the thread some time to park
+        pauser.unpause();
+        final long startNs = System.nanoTime();
+        thread.join();
+        final long timeTakenMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+        assertTrue(timeTakenMs < pauseMillis / 5, "Took " + timeTakenMs + " to stop");
+    }
+}
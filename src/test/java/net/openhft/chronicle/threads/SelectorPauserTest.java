@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import net.openhft.chronicle.core.io.IORuntimeException;
+import net.openhft.chronicle.core.threads.EventHandler;
+import net.openhft.chronicle.testframework.Waiters;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectionKey;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SelectorPauserTest extends ThreadsTestCommon {
+
+    @Test
+    void wakesWhenAChannelIsReady() throws Exception {
+        final Pipe pipe = Pipe.open();
+        try (SelectorPauser pauser = new SelectorPauser(0, 0, 10, 10, TimeUnit.SECONDS)) {
+            pipe.source().configureBlocking(false);
+            pauser.register(pipe.source(), SelectionKey.OP_READ);
+            final Thread writer = new Thread(() -> {
+                // if this is written before the pauser waits, it doesn't wait at all
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+                try {
+                    pipe.sink().write(ByteBuffer.wrap(new byte[]{1}));
+                } catch (IOException e) {
+                    throw new IORuntimeException(e);
+                }
+            }, "writer");
+            final long start = System.nanoTime();
+            writer.start();
+            pauser.pause();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            writer.join();
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+
+    @Test
+    void wakesOnUnpause() throws Exception {
+        try (SelectorPauser pauser = new SelectorPauser(0, 0, 10, 10, TimeUnit.SECONDS)) {
+            final Thread unpauser = new Thread(() -> {
+                // retried as an unpause before the pauser waits has no effect
+                while (!Thread.currentThread().isInterrupted()) {
+                    pauser.unpause();
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+                }
+            }, "unpauser");
+            unpauser.start();
+            final long start = System.nanoTime();
+            pauser.pause();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            unpauser.interrupt();
+            unpauser.join();
+        }
+    }
+
+    @Test
+    void eventLoopReadsARegisteredChannel() throws Exception {
+        final Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        final AtomicInteger read = new AtomicInteger();
+        try (MediumEventLoop eventLoop = new MediumEventLoop(null, "selecting", new SelectorPauser(0, 0, 10, 10, TimeUnit.SECONDS), true, null)) {
+            eventLoop.addHandler(new EventHandler() {
+                final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+                @Override
+                public void loopStarted() {
+                    try {
+                        eventLoop.registerChannel(pipe.source(), SelectionKey.OP_READ);
+                    } catch (IOException e) {
+                        throw new IORuntimeException(e);
+                    }
+                }
+
+                @Override
+                public boolean action() {
+                    try {
+                        buffer.clear();
+                        final int n = pipe.source().read(buffer);
+                        if (n <= 0)
+                            return false;
+                        read.addAndGet(n);
+                        return true;
+                    } catch (IOException e) {
+                        throw new IORuntimeException(e);
+                    }
+                }
+            });
+            eventLoop.start();
+            for (int i = 1; i <= 3; i++) {
+                // give the loop time to go idle
+                Thread.sleep(100);
+                pipe.sink().write(ByteBuffer.wrap(new byte[]{(byte) i}));
+                final int expected = i;
+                // well within the 10 second pause
+                Waiters.waitForCondition("read " + expected, () -> read.get() == expected, 2_000);
+            }
+            assertEquals(3, read.get());
+        } finally {
+            pipe.source().close();
+            pipe.sink().close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotEventHandlerTest extends ThreadsTestCommon {
+    private File dir;
+
+    @BeforeEach
+    void createDir() throws Exception {
+        dir = Files.createTempDirectory("snapshot").toFile();
+    }
+
+    @AfterEach
+    void deleteDir() {
+        for (File file : dir.listFiles())
+            assertTrue(file.delete());
+        assertTrue(dir.delete());
+    }
+
+    @Test
+    void restoresTheLastSnapshotOnce() {
+        final CountingHandler before = new CountingHandler(64);
+        before.count = 42;
+        before.name = "order-book";
+        HandlerSnapshots.snapshot(dir.getPath(), before);
+
+        final CountingHandler after = new CountingHandler(64);
+        HandlerSnapshots.restore(dir.getPath(), after);
+        assertEquals(1, after.restores);
+        assertEquals(42, after.count);
+        assertEquals("order-book", after.name);
+
+        // the snapshot is stale once the handler has been restored
+        HandlerSnapshots.restore(dir.getPath(), new CountingHandler(64));
+        final CountingHandler again = new CountingHandler(64);
+        HandlerSnapshots.restore(dir.getPath(), again);
+        assertEquals(0, again.restores);
+    }
+
+    @Test
+    void aFailedSnapshotIsNotRestored() {
+        final CountingHandler valid = new CountingHandler(64);
+        valid.count = 1;
+        HandlerSnapshots.snapshot(dir.getPath(), valid);
+
+        final CountingHandler tooBig = new CountingHandler(8);
+        tooBig.name = "does not fit";
+        expectException("Unable to save a snapshot of counting");
+        HandlerSnapshots.snapshot(dir.getPath(), tooBig);
+
+        final CountingHandler after = new CountingHandler(64);
+        HandlerSnapshots.restore(dir.getPath(), after);
+        assertEquals(0, after.restores);
+        assertEquals(0, after.count);
+    }
+
+    @Test
+    void nothingIsSavedWithoutADirectory() {
+        final CountingHandler handler = new CountingHandler(64);
+        HandlerSnapshots.snapshot(null, handler);
+        HandlerSnapshots.restore(null, handler);
+        assertEquals(0, handler.restores);
+        assertEquals(0, dir.listFiles().length);
+    }
+
+    static final class CountingHandler implements SnapshotEventHandler {
+        private final long capacity;
+        long count = 0;
+        String name = "";
+        int restores = 0;
+
+        CountingHandler(long capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean action() {
+            count++;
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public String snapshotName() {
+            return "counting";
+        }
+
+        @Override
+        public long snapshotCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public void snapshot(@NotNull SnapshotRegion region) {
+            region.writeLong(count);
+            final byte[] bytes = name.getBytes();
+            region.writeInt(bytes.length);
+            region.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void restore(@NotNull SnapshotRegion region) {
+            restores++;
+            count = region.readLong();
+            final byte[] bytes = new byte[region.readInt()];
+            region.read(bytes, 0, bytes.length);
+            name = new String(bytes);
+            assertEquals(0, region.remaining());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpinStrategyTest extends ThreadsTestCommon {
+
+    @Test
+    void backOffDoublesUpToMax() {
+        BackOffSpinStrategy strategy = new BackOffSpinStrategy(SpinStrategy.onSpinWait(), 4, 8);
+        assertEquals(1, strategy.pausesPerSpin());
+        for (int i = 0; i < 3; i++)
+            strategy.spin();
+        assertEquals(1, strategy.pausesPerSpin());
+        strategy.spin();
+        assertEquals(2, strategy.pausesPerSpin());
+        for (int i = 0; i < 100; i++)
+            strategy.spin();
+        assertEquals(8, strategy.pausesPerSpin());
+        strategy.reset();
+        assertEquals(1, strategy.pausesPerSpin());
+    }
+
+    @Test
+    void backOffRejectsNonPositive() {
+        assertThrows(IllegalArgumentException.class, () -> SpinStrategy.backOff(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> SpinStrategy.backOff(4, 0));
+    }
+
+    @Test
+    void pausersResetTheirStrategy() {
+        BackOffSpinStrategy strategy = new BackOffSpinStrategy(SpinStrategy.onSpinWait(), 1, 4);
+        LongPauser pauser = new LongPauser(1_000, 2_000, 200, 1_000, TimeUnit.MILLISECONDS)
+                .spinStrategy(strategy);
+        for (int i = 0; i < 10; i++)
+            pauser.pause();
+        assertEquals(4, strategy.pausesPerSpin());
+        pauser.reset();
+        assertEquals(1, strategy.pausesPerSpin());
+
+        BusyTimedPauser busy = new BusyTimedPauser(strategy);
+        busy.pause();
+        assertEquals(2, strategy.pausesPerSpin());
+        busy.reset();
+        assertEquals(1, strategy.pausesPerSpin());
+    }
+}
@@ -19,13 +19,18 @@
 package net.openhft.chronicle.threads;
 
 import net.openhft.chronicle.core.Jvm;
+import net.openhft.chronicle.testframework.Waiters;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ThreadsTest extends ThreadsTestCommon {
 
@@ -86,6 +91,91 @@ public class ThreadsTest extends ThreadsTestCommon {
         assertExceptionThrown("**** THE main/non-daemon-test THREAD DID NOT SHUTDOWN ***");
     }
 
+    @Test
+    public void shouldDumpStackTracesForStuckTrackedExecutors() {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final ExecutorService service = new NamedThreadFactory("tracked-test").newFixedThreadPool(1);
+        service.submit(() -> {
+            while (running.get()) {
+                Jvm.pause(10L);
+            }
+        });
+
+        Threads.shutdown(service);
+        running.set(false);
+        expectException("**** THE main/tracked-test THREAD DID NOT SHUTDOWN ***");
+        assertExceptionThrown("**** THE main/tracked-test THREAD DID NOT SHUTDOWN ***");
+    }
+
+    @Test
+    void sharedFactoryOnlyInterruptsThePoolsOwnThreads() throws InterruptedException {
+        final NamedThreadFactory threadFactory = new NamedThreadFactory("shared", true);
+        final ExecutorService interrupted = threadFactory.newFixedThreadPool(1);
+        final ExecutorService other = Executors.newSingleThreadExecutor(threadFactory);
+        try {
+            final CountDownLatch started = new CountDownLatch(2);
+            final CountDownLatch otherInterrupted = new CountDownLatch(1);
+            interrupted.submit(() -> {
+                started.countDown();
+                return Thread.interrupted() || sleepUntilInterrupted();
+            });
+            other.submit(() -> {
+                started.countDown();
+                if (sleepUntilInterrupted())
+                    otherInterrupted.countDown();
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Threads.interrupt(interrupted);
+            interrupted.shutdown();
+            assertTrue(interrupted.awaitTermination(5, TimeUnit.SECONDS));
+            assertFalse(otherInterrupted.await(100, TimeUnit.MILLISECONDS));
+        } finally {
+            other.shutdownNow();
+            assertTrue(other.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static boolean sleepUntilInterrupted() {
+        try {
+            Thread.sleep(2_000);
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    @Test
+    void namedThreadFactoryTracksLiveThreads() throws InterruptedException {
+        final NamedThreadFactory threadFactory = new NamedThreadFactory("tracked", true);
+        final ExecutorService service = threadFactory.newCachedThreadPool();
+        try {
+            final AtomicBoolean running = new AtomicBoolean(true);
+            for (int i = 0; i < 3; i++)
+                service.submit(() -> {
+                    while (running.get())
+                        Jvm.pause(1L);
+                });
+            final List<Thread> threads = new ArrayList<>();
+            Waiters.waitForCondition("threads started", () -> {
+                threads.clear();
+                threadFactory.forEachThread(threads::add);
+                return threads.size() == 3;
+            }, 5_000);
+
+            running.set(false);
+            service.shutdown();
+            assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+            for (Thread thread : threads)
+                thread.join(5_000);
+            threads.clear();
+            threadFactory.forEachThread(threads::add);
+            assertEquals(0, threads.size());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
     @Test
     void testRenderStackTrace() {
         StackTraceElement[] stackTrace = new StackTraceElement[]{
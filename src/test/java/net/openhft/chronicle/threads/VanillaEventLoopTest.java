@@ -197,7 +197,7 @@ class VanillaEventLoopTest extends ThreadsTestCommon {
             Waiters.waitForCondition("Handler should be removed", () -> (eventLoop.handlerCount() == 0), 5000);
 
             assertTrue(eventLoop.isAlive());
-            assertTrue(eventLoop.newHandlers.isEmpty());
+            assertTrue(eventLoop.pendingHandlers.isEmpty());
 
             // Exceptions should be thrown.
             assertExceptionThrown(HANDLER_LOOP_STARTED_EXCEPTION_TXT);
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads.internal;
+
+import net.openhft.chronicle.threads.ThreadsTestCommon;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockedStackAggregatorTest extends ThreadsTestCommon {
+
+    private static StackTraceElement frame(String className, String method) {
+        return new StackTraceElement(className, method, className + ".java", 1);
+    }
+
+    @Test
+    void handlerIsTheFrameCalledByTheLoop() {
+        StackTraceElement[] stack = {
+                frame("java.lang.Thread", "sleep"),
+                frame("com.example.SlowHandler", "action"),
+                frame("net.openhft.chronicle.threads.MediumEventLoop", "callHighHandler"),
+                frame("net.openhft.chronicle.threads.MediumEventLoop", "runAllHighHandlers"),
+                frame("net.openhft.chronicle.threads.MediumEventLoop", "runLoop"),
+                frame("java.lang.Thread", "run")};
+        assertEquals("com.example.SlowHandler", BlockedStackAggregator.handlerOf(stack));
+
+        StackTraceElement[] outsideLoop = {
+                frame("java.lang.Thread", "sleep"),
+                frame("java.lang.Thread", "run")};
+        assertEquals("none", BlockedStackAggregator.handlerOf(outsideLoop));
+    }
+
+    @Test
+    void handlerIsFoundForTimerBlockingAndMonitorHandlers() {
+        StackTraceElement[] timer = {
+                frame("com.example.SlowTimer", "action"),
+                frame("net.openhft.chronicle.threads.VanillaEventLoop", "runAllHandlers"),
+                frame("net.openhft.chronicle.threads.VanillaEventLoop", "runTimerHandlers"),
+                frame("net.openhft.chronicle.threads.MediumEventLoop", "runLoop"),
+                frame("java.lang.Thread", "run")};
+        assertEquals("com.example.SlowTimer", BlockedStackAggregator.handlerOf(timer));
+
+        StackTraceElement[] batched = {
+                frame("com.example.SlowHandler", "action"),
+                frame("net.openhft.chronicle.threads.BatchedHandlerAdapter", "action"),
+                frame("net.openhft.chronicle.threads.MediumEventLoop", "runAllMediumHandler"),
+                frame("java.lang.Thread", "run")};
+        assertEquals("com.example.SlowHandler", BlockedStackAggregator.handlerOf(batched));
+
+        StackTraceElement[] blocking = {
+                frame("java.net.SocketInputStream", "read"),
+                frame("com.example.Acceptor", "action"),
+                frame("net.openhft.chronicle.threads.BlockingEventLoop$Runner", "run"),
+                frame("java.lang.Thread", "run")};
+        assertEquals("com.example.Acceptor", BlockedStackAggregator.handlerOf(blocking));
+
+        StackTraceElement[] monitor = {
+                frame("com.example.SlowMonitor", "action"),
+                frame("net.openhft.chronicle.threads.MonitorEventLoop$IdempotentLoopStartedEventHandler", "action"),
+                frame("net.openhft.chronicle.threads.MonitorEventLoop", "runHandlers"),
+                frame("java.lang.Thread", "run")};
+        assertEquals("com.example.SlowMonitor", BlockedStackAggregator.handlerOf(monitor));
+    }
+
+    @Test
+    void samplesAreCollapsedAndCounted() {
+        BlockedStackAggregator aggregator = BlockedStackAggregator.INSTANCE;
+        aggregator.drainCollapsed();
+
+        StackTraceElement[] stack = {
+                frame("java.lang.Thread", "sleep"),
+                frame("com.example.SlowHandler", "action"),
+                frame("net.openhft.chronicle.threads.VanillaEventLoop", "runAllMediumHandler"),
+                frame("java.lang.Thread", "run")};
+        aggregator.record("core-event-loop", 1_000_000, stack);
+        aggregator.record("core-event-loop", 2_000_000, stack.clone());
+        aggregator.record("other", 1_000_000, new StackTraceElement[]{frame("java.lang.Thread", "run")});
+
+        assertEquals("core-event-loop;com.example.SlowHandler;java.lang.Thread.run;net.openhft.chronicle.threads.VanillaEventLoop.runAllMediumHandler;com.example.SlowHandler.action;java.lang.Thread.sleep 2\n" +
+                        "other;none;java.lang.Thread.run 1\n",
+                aggregator.drainCollapsed());
+        assertEquals("", aggregator.drainCollapsed());
+    }
+}
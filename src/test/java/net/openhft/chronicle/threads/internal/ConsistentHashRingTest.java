@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016-2022 chronicle.software
+ *
+ *       https://chronicle.software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.openhft.chronicle.threads.internal;
+
+import net.openhft.chronicle.threads.ThreadsTestCommon;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest extends ThreadsTestCommon {
+
+    @Test
+    void sameKeySameNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(8);
+        for (int i = 0; i < 1000; i++) {
+            String key = "session-" + i;
+            int node = ring.nodeFor(key);
+            assertTrue(node >= 0 && node < 8);
+            assertEquals(node, ring.nodeFor(new String(key.toCharArray())));
+        }
+    }
+
+    @Test
+    void spreadsKeys() {
+        ConsistentHashRing ring = new ConsistentHashRing(4);
+        int[] counts = new int[4];
+        for (int i = 0; i < 10_000; i++)
+            counts[ring.nodeFor(i)]++;
+        for (int count : counts)
+            assertTrue(count > 1_000, () -> "uneven spread " + Arrays.toString(counts));
+    }
+
+    @Test
+    void addingANodeOnlyMovesKeysToIt() {
+        ConsistentHashRing four = new ConsistentHashRing(4);
+        ConsistentHashRing five = new ConsistentHashRing(5);
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int before = four.nodeFor(i);
+            int after = five.nodeFor(i);
+            if (before != after) {
+                assertEquals(4, after);
+                moved++;
+            }
+        }
+        assertTrue(moved > 1_000 && moved < 3_500, "moved " + moved);
+    }
+
+    @Test
+    void nodesMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(0));
+    }
+}